@@ -0,0 +1,103 @@
+package com.spacecodee.springbootsecurityopentemplate.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacecodee.springbootsecurityopentemplate.security.jwt.Hs256JwtCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jjwt against {@link Hs256JwtCodec} for the three token operations of the request path: generation, verification
+ * and the unverified decode used before a refresh. The unverified baseline is the former
+ * {@code extractClaimsWithoutValidation}, which split with a regex and built a new {@code ObjectMapper} per call.
+ * <p>
+ * Run with {@code ./gradlew jmh}; adding {@code profilers = ['gc']} to the {@code jmh} block also reports the
+ * allocation rate of each variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtCodecBenchmark {
+
+    private SecretKey key;
+    private JwtParser parser;
+    private Hs256JwtCodec codec;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        this.key = Jwts.SIG.HS256.key().build();
+        this.parser = Jwts.parser().verifyWith(this.key).build();
+        this.codec = new Hs256JwtCodec(this.key);
+
+        var nowInSeconds = System.currentTimeMillis() / 1000;
+        this.claims = new LinkedHashMap<>();
+        this.claims.put("sub", "developer");
+        this.claims.put("userId", 4);
+        this.claims.put("name", "Developer");
+        this.claims.put("role", "DEVELOPER");
+        this.claims.put("authorities", List.of(new SimpleGrantedAuthority("ROLE_DEVELOPER"),
+                new SimpleGrantedAuthority("GET_ALL_USERS"), new SimpleGrantedAuthority("CREATE_ONE_USER"),
+                new SimpleGrantedAuthority("UPDATE_ONE_USER"), new SimpleGrantedAuthority("DELETE_ONE_USER")));
+        this.claims.put("iat", nowInSeconds);
+        this.claims.put("exp", nowInSeconds + TimeUnit.HOURS.toSeconds(1));
+
+        this.token = this.codec.encode(this.claims);
+    }
+
+    @Benchmark
+    public String generateJjwt() {
+        return Jwts.builder()
+                .header().type("JWT").and()
+                .claims(this.claims)
+                .signWith(this.key, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String generateCodec() {
+        return this.codec.encode(this.claims);
+    }
+
+    @Benchmark
+    public Claims verifyJjwt() {
+        return this.parser.parseSignedClaims(this.token).getPayload();
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyCodec() {
+        return this.codec.decode(this.token);
+    }
+
+    @Benchmark
+    public Claims decodeUnverifiedObjectMapper() throws Exception {
+        var parts = this.token.split("\\.");
+        var payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        Map<String, Object> values = new ObjectMapper().readValue(payload, new TypeReference<>() {
+        });
+        return Jwts.claims().add(values).build();
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeUnverifiedCodec() {
+        return Hs256JwtCodec.decodeUnverified(this.token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.spacecodee.springbootsecurityopentemplate.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token verification cost of {@code JwtProviderServiceImpl}: the former path decoded the secret and built a
+ * new parser for every call, the current one reuses a key and parser built once.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private String base64Secret;
+    private String token;
+    private JwtParser cachedParser;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Jwts.SIG.HS256.key().build();
+        this.base64Secret = Base64.getEncoder().encodeToString(key.getEncoded());
+        this.token = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("developer")
+                .claims(Map.of("userId", 4, "role", "DEVELOPER", "authorities", List.of("GET_ALL_USERS")))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+        this.cachedParser = Jwts.parser().verifyWith(key).build();
+    }
+
+    @Benchmark
+    public Claims perCallKeyAndParser() {
+        var key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(this.base64Secret));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(this.token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedKeyAndParser() {
+        return this.cachedParser.parseSignedClaims(this.token).getPayload();
+    }
+
+    /**
+     * A request used to verify three times (isTokenValid, extractUsername, extractExpiration) with a fresh parser
+     * each time.
+     */
+    @Benchmark
+    public Date perRequestPerCallPath() {
+        perCallKeyAndParser();
+        perCallKeyAndParser();
+        return perCallKeyAndParser().getExpiration();
+    }
+
+    @Benchmark
+    public Date perRequestCachedPath() {
+        cachedKeyAndParser();
+        cachedKeyAndParser();
+        return cachedKeyAndParser().getExpiration();
+    }
+}
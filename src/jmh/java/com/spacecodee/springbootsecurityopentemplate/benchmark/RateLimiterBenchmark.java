@@ -0,0 +1,106 @@
+package com.spacecodee.springbootsecurityopentemplate.benchmark;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.impl.LocalRateLimitStore;
+import com.spacecodee.springbootsecurityopentemplate.service.security.impl.RateLimitServiceImpl;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit bookkeeping with 64 threads, either hammering one client IP (the credential-stuffing case) or spread
+ * over many: the former {@code get}-then-{@code put} counter on a Guava {@code LoadingCache}, token buckets in a
+ * string keyed Guava cache, and the primitive {@code IpBucketTable} behind the IP rules of the service.
+ * <p>
+ * The rule limit is high enough that every request is allowed, so all variants do the full amount of work. The
+ * legacy variant is also wrong under contention, concurrent increments of the same key are lost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    private LoadingCache<String, Integer> legacyCounts;
+    private Cache<String, TokenBucket> stringBuckets;
+    private RateLimitRule rule;
+    private RateLimitServiceImpl rateLimitService;
+    private String[] clientIps;
+    private InetAddress[] clientAddresses;
+
+    @Setup
+    public void setUp() {
+        this.legacyCounts = CacheBuilder.newBuilder()
+                .expireAfterWrite(15, TimeUnit.MINUTES)
+                .maximumSize(100_000)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public @NotNull Integer load(@NotNull String key) {
+                        return 0;
+                    }
+                });
+
+        this.rule = RateLimitRule.parse("login-ip POST /auth/authenticate IP 2000000000 PT15M");
+        this.stringBuckets = CacheBuilder.newBuilder()
+                .expireAfterAccess(this.rule.window())
+                .maximumSize(100_000)
+                .build();
+        this.rateLimitService = new RateLimitServiceImpl(List.of(this.rule), new LocalRateLimitStore(
+                List.of(this.rule), CacheBuilder.newBuilder().<String, TokenBucket>build(), 1 << 20, 64));
+
+        this.clientIps = new String[this.clients];
+        this.clientAddresses = new InetAddress[this.clients];
+        for (int i = 0; i < this.clients; i++) {
+            this.clientIps[i] = "10.0." + (i >>> 8) + "." + (i & 0xFF);
+            this.clientAddresses[i] = InetAddresses.forString(this.clientIps[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyGetThenPut() throws ExecutionException {
+        var clientIp = this.clientIps[this.nextClient()];
+        int attempts = this.legacyCounts.get(clientIp);
+        this.legacyCounts.put(clientIp, attempts + 1);
+        return attempts < Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    public RateLimitDecision stringKeyedBuckets() throws ExecutionException {
+        long now = System.nanoTime();
+        var key = this.rule.name() + '|' + this.clientIps[this.nextClient()];
+        return this.stringBuckets.get(key, () -> new TokenBucket(now)).tryAcquire(this.rule, now);
+    }
+
+    @Benchmark
+    public RateLimitDecision primitiveIpTable() {
+        return this.rateLimitService.tryAcquire("POST", "/auth/authenticate",
+                this.clientAddresses[this.nextClient()], null);
+    }
+
+    private int nextClient() {
+        return ThreadLocalRandom.current().nextInt(this.clients);
+    }
+}
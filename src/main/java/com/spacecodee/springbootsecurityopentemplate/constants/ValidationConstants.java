@@ -12,6 +12,8 @@ public final class ValidationConstants {
     public static final int MAX_PASSWORD_LENGTH = 32;
     public static final int MIN_NAME_LENGTH = 2;
     public static final int MAX_NAME_LENGTH = 100;
+    public static final int MAX_INTROSPECTION_TOKENS = 500;
+    public static final int MAX_AUTHORIZATION_QUERIES = 500;
 
     // Validation Message Keys
     public static final class Messages {
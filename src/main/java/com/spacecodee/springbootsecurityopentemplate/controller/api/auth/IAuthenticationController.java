@@ -4,7 +4,12 @@ import com.spacecodee.springbootsecurityopentemplate.data.common.auth.Authentica
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponseDataPojo;
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponsePojo;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.AuthorizationDecisionBatch;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.AuthorizationDecisionVO;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.LoginUserVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.RefreshTokenVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.TokenIntrospectionVO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +20,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import java.util.List;
+
 @Tag(name = "Authentication", description = "Authentication management endpoints")
 public interface IAuthenticationController {
 
@@ -28,6 +35,26 @@ public interface IAuthenticationController {
                         @Parameter(description = "Locale for response messages") @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
                         HttpServletRequest request);
 
+        @Operation(summary = "Introspect JWT tokens", description = "Reports whether each token is active, with its subject, role, expiry and authorities, in request order. Cache-Control allows reusing the answer until the earliest active token expires, within the configured maximum")
+        @ApiResponse(responseCode = "200", description = "Tokens introspected")
+        @ApiResponse(responseCode = "400", description = "Empty or oversized token list")
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+        @SecurityRequirement(name = "bearerAuth")
+        @PostMapping("/introspect")
+        ResponseEntity<ApiResponseDataPojo<List<TokenIntrospectionResult>>> introspect(
+                        @Parameter(description = "Locale for response messages") @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
+                        @Parameter(description = "Tokens to introspect") @RequestBody @Valid TokenIntrospectionVO request);
+
+        @Operation(summary = "Batch authorization decisions", description = "Evaluates many (username, method, path) queries against the operation and permission data, loading each user and role once. The response includes how long the evaluation took")
+        @ApiResponse(responseCode = "200", description = "Queries evaluated")
+        @ApiResponse(responseCode = "400", description = "Empty, oversized or incomplete query list")
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+        @SecurityRequirement(name = "bearerAuth")
+        @PostMapping("/decisions")
+        ResponseEntity<ApiResponseDataPojo<AuthorizationDecisionBatch>> decisions(
+                        @Parameter(description = "Locale for response messages") @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
+                        @Parameter(description = "Authorization queries") @RequestBody @Valid AuthorizationDecisionVO request);
+
         @Operation(summary = "Authenticate user", description = "Authenticates user credentials and returns JWT token")
         @ApiResponse(responseCode = "202", description = "Successfully authenticated")
         @ApiResponse(responseCode = "401", description = "Invalid credentials")
@@ -54,12 +81,13 @@ public interface IAuthenticationController {
                         @Parameter(description = "Locale for response messages") @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
                         HttpServletRequest request);
 
-        @Operation(summary = "Refresh JWT token", description = "Generates a new JWT token using the current valid token")
+        @Operation(summary = "Refresh JWT token", description = "Generates a new JWT token using the current valid token, or exchanges a refresh token for a new token pair when split tokens are enabled")
         @ApiResponse(responseCode = "200", description = "Token refreshed successfully")
-        @ApiResponse(responseCode = "401", description = "Current token is invalid or expired")
+        @ApiResponse(responseCode = "401", description = "Current token or refresh token is invalid, expired or already used")
         @SecurityRequirement(name = "bearerAuth")
         @PutMapping("/refresh-token")
         ResponseEntity<ApiResponseDataPojo<AuthenticationResponsePojo>> refreshToken(
                         @Parameter(description = "Locale for response messages") @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
+                        @Parameter(description = "Refresh token issued at login, only in split-token mode") @RequestBody(required = false) RefreshTokenVO refreshTokenVO,
                         HttpServletRequest request);
 }
@@ -6,32 +6,50 @@ import com.spacecodee.springbootsecurityopentemplate.data.common.auth.Authentica
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponseDataPojo;
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponsePojo;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.AuthorizationDecisionBatch;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.AuthorizationDecisionVO;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.LoginUserVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.RefreshTokenVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.TokenIntrospectionVO;
 import com.spacecodee.springbootsecurityopentemplate.language.MessageParameterHandler;
 import com.spacecodee.springbootsecurityopentemplate.language.MessageUtilComponent;
 import com.spacecodee.springbootsecurityopentemplate.service.auth.IAuthenticationService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IAuthorizationDecisionService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @RestController
 @RequestMapping("/auth")
 public class AuthenticationControllerImpl extends AbstractController implements IAuthenticationController {
     private final IJwtProviderService jwtService;
     private final IAuthenticationService authenticationService;
+    private final IAuthorizationDecisionService authorizationDecisionService;
+
+    @Value("${security.introspection.max-cache-age-in-seconds:60}")
+    private long introspectionMaxCacheAgeInSeconds;
 
     public AuthenticationControllerImpl(MessageUtilComponent messageUtilComponent,
                                         MessageParameterHandler messageParameterHandler,
                                         IJwtProviderService jwtService,
-                                        IAuthenticationService authenticationService) {
+                                        IAuthenticationService authenticationService,
+                                        IAuthorizationDecisionService authorizationDecisionService) {
         super(messageUtilComponent, messageParameterHandler);
         this.jwtService = jwtService;
         this.authenticationService = authenticationService;
+        this.authorizationDecisionService = authorizationDecisionService;
     }
 
     @Override
@@ -51,6 +69,24 @@ public class AuthenticationControllerImpl extends AbstractController implements
                 HttpStatus.OK, username));
     }
 
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<List<TokenIntrospectionResult>>> introspect(String locale,
+                                                                                       TokenIntrospectionVO request) {
+        var results = this.authenticationService.introspectTokens(locale, request);
+        return ResponseEntity.ok()
+                .cacheControl(this.introspectionCacheControl(results))
+                .body(super.createDataResponse(results, "token.introspection.success", locale, HttpStatus.OK,
+                        String.valueOf(results.size())));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<AuthorizationDecisionBatch>> decisions(String locale,
+                                                                                AuthorizationDecisionVO request) {
+        var batch = this.authorizationDecisionService.decide(locale, request.queries());
+        return ResponseEntity.ok(super.createDataResponse(batch, "authorization.decisions.success", locale,
+                HttpStatus.OK, String.valueOf(batch.decisions().size())));
+    }
+
     @Override
     public ResponseEntity<ApiResponseDataPojo<AuthenticationResponsePojo>> authenticate(String locale,
                                                                                         LoginUserVO request) {
@@ -78,10 +114,29 @@ public class AuthenticationControllerImpl extends AbstractController implements
 
     @Override
     public ResponseEntity<ApiResponseDataPojo<AuthenticationResponsePojo>> refreshToken(
-            String locale, HttpServletRequest request) {
-        var username = this.jwtService.extractUsernameFromRequest(request);
-        var response = this.authenticationService.refreshToken(locale, request);
+            String locale, RefreshTokenVO refreshTokenVO, HttpServletRequest request) {
+        // The presented token may be expired, take the username from the token that was just issued
+        var response = this.authenticationService.refreshToken(locale, request, refreshTokenVO);
+        var username = this.jwtService.extractUsername(response.getJwt());
         return ResponseEntity.ok(super.createDataResponse(response,
                 "token.refreshed", locale, HttpStatus.OK, username));
     }
+
+    /**
+     * Positive answers stay true until the earliest active token expires, unless it is revoked first, so the
+     * cache lifetime is also capped. A batch without active tokens is not cached at all.
+     */
+    private CacheControl introspectionCacheControl(List<TokenIntrospectionResult> results) {
+        var nowInSeconds = Instant.now().getEpochSecond();
+        var maxAge = results.stream()
+                .filter(TokenIntrospectionResult::active)
+                .mapToLong(result -> result.exp() - nowInSeconds)
+                .min();
+        if (maxAge.isEmpty() || maxAge.getAsLong() <= 0) {
+            return CacheControl.noStore();
+        }
+
+        return CacheControl.maxAge(Math.min(maxAge.getAsLong(), this.introspectionMaxCacheAgeInSeconds),
+                TimeUnit.SECONDS).cachePrivate();
+    }
 }
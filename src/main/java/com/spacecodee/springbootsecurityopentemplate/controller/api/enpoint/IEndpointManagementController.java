@@ -84,4 +84,14 @@ public interface IEndpointManagementController {
             @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
             @Parameter(description = "Module ID")
             @PathVariable("id") Integer moduleId);
+
+    @Operation(summary = "Revoke role tokens", description = "Revokes every token issued to users of a role by bumping its revocation epoch and deleting their stored tokens")
+    @ApiResponse(responseCode = "200", description = "Role tokens revoked successfully")
+    @ApiResponse(responseCode = "404", description = "Role not found")
+    @PostMapping("/role/{id}/revoke-tokens")
+    ResponseEntity<ApiResponsePojo> revokeRoleTokens(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale,
+            @Parameter(description = "Role ID")
+            @PathVariable("id") Integer roleId);
 }
\ No newline at end of file
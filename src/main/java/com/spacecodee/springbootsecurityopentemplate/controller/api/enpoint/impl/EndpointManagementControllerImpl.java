@@ -101,4 +101,14 @@ public class EndpointManagementControllerImpl extends AbstractController impleme
                 HttpStatus.OK,
                 moduleId));
     }
+
+    @Override
+    public ResponseEntity<ApiResponsePojo> revokeRoleTokens(String locale, Integer roleId) {
+        this.endpointManagementService.revokeRoleTokens(locale, roleId);
+        return ResponseEntity.ok(super.createResponse(
+                "role.tokens.revoked.success",
+                locale,
+                HttpStatus.OK,
+                roleId));
+    }
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package com.spacecodee.springbootsecurityopentemplate.controller.api.monitoring;
 
 import com.google.common.cache.CacheStats;
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponseDataPojo;
+import com.spacecodee.springbootsecurityopentemplate.data.record.FilterRejectStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitterStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.PasswordHashingStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.SnapshotStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenPurgeStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Tag(name = "Monitoring", description = "Cache monitoring endpoints")
 public interface ICacheMonitoringController {
@@ -22,4 +28,60 @@ public interface ICacheMonitoringController {
     ResponseEntity<ApiResponseDataPojo<CacheStats>> getCacheStats(
             @Parameter(description = "Locale for response messages")
             @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get public operation snapshot statistics", description = "Retrieves the version and rebuild count of the in-memory public operation snapshot")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/public-operations")
+    ResponseEntity<ApiResponseDataPojo<SnapshotStats>> getPublicOperationStats(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get principal cache statistics", description = "Retrieves current statistics of the authenticated principal cache")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/principal-stats")
+    ResponseEntity<ApiResponseDataPojo<CacheStats>> getPrincipalCacheStats(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get expired token purge statistics", description = "Retrieves the outcome of the last background purge of expired tokens and the remaining backlog")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/token-purge")
+    ResponseEntity<ApiResponseDataPojo<TokenPurgeStats>> getTokenPurgeStats(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get security filter rejection statistics", description = "Retrieves how many requests the rate limit and JWT filters rejected, per reason")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/filter-rejections")
+    ResponseEntity<ApiResponseDataPojo<FilterRejectStats>> getFilterRejectStats(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get login heavy hitters", description = "Retrieves the client addresses and usernames with the most login attempts in the current and the last completed window")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/login-heavy-hitters")
+    ResponseEntity<ApiResponseDataPojo<HeavyHitterStats>> getLoginHeavyHitters(
+            @Parameter(description = "Maximum number of entries per list")
+            @RequestParam(name = "limit", required = false, defaultValue = "20") int limit,
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
+
+    @Operation(summary = "Get password hashing statistics", description = "Retrieves the queue depth, queue wait and hash time of the password hashing pool and how many hashes it refused")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Access denied")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/password-hashing")
+    ResponseEntity<ApiResponseDataPojo<PasswordHashingStats>> getPasswordHashingStats(
+            @Parameter(description = "Locale for response messages")
+            @RequestHeader(name = "Accept-Language", required = false, defaultValue = "en") String locale);
 }
\ No newline at end of file
@@ -1,12 +1,25 @@
 package com.spacecodee.springbootsecurityopentemplate.controller.api.monitoring.impl;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheStats;
-import com.google.common.cache.LoadingCache;
 import com.spacecodee.springbootsecurityopentemplate.controller.api.monitoring.ICacheMonitoringController;
 import com.spacecodee.springbootsecurityopentemplate.controller.base.AbstractController;
 import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiResponseDataPojo;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.FilterRejectStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitterStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.PasswordHashingStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.SnapshotStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenPurgeStats;
+import com.spacecodee.springbootsecurityopentemplate.enums.FilterRejectReasonEnum;
 import com.spacecodee.springbootsecurityopentemplate.language.MessageParameterHandler;
 import com.spacecodee.springbootsecurityopentemplate.language.MessageUtilComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.BoundedPasswordEncoder;
+import com.spacecodee.springbootsecurityopentemplate.security.handler.FilterRejectionWriter;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.LoginTrafficTracker;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenPurgeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,19 +31,37 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/monitoring/cache")
 public class CacheMonitoringControllerImpl extends AbstractController implements ICacheMonitoringController {
 
-    private final LoadingCache<String, Integer> requestCountsCache;
+    private final Cache<String, TokenBucket> rateLimitBuckets;
+    private final IOperationService operationService;
+    private final Cache<String, UserDetailsDTO> principalCache;
+    private final ITokenPurgeService tokenPurgeService;
+    private final FilterRejectionWriter filterRejectionWriter;
+    private final LoginTrafficTracker loginTrafficTracker;
+    private final BoundedPasswordEncoder passwordEncoder;
 
     public CacheMonitoringControllerImpl(MessageUtilComponent messageUtilComponent,
                                          MessageParameterHandler messageParameterHandler,
-                                         LoadingCache<String, Integer> requestCountsCache) {
+                                         Cache<String, TokenBucket> rateLimitBuckets,
+                                         IOperationService operationService,
+                                         Cache<String, UserDetailsDTO> principalCache,
+                                         ITokenPurgeService tokenPurgeService,
+                                         FilterRejectionWriter filterRejectionWriter,
+                                         LoginTrafficTracker loginTrafficTracker,
+                                         BoundedPasswordEncoder passwordEncoder) {
         super(messageUtilComponent, messageParameterHandler);
-        this.requestCountsCache = requestCountsCache;
+        this.rateLimitBuckets = rateLimitBuckets;
+        this.operationService = operationService;
+        this.principalCache = principalCache;
+        this.tokenPurgeService = tokenPurgeService;
+        this.filterRejectionWriter = filterRejectionWriter;
+        this.loginTrafficTracker = loginTrafficTracker;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
     public ResponseEntity<ApiResponseDataPojo<CacheStats>> getCacheStats(String locale) {
         log.debug("Retrieving cache statistics");
-        CacheStats stats = this.requestCountsCache.stats();
+        CacheStats stats = this.rateLimitBuckets.stats();
 
         return ResponseEntity.ok(
                 super.createDataResponse(
@@ -40,6 +71,102 @@ public class CacheMonitoringControllerImpl extends AbstractController implements
                         HttpStatus.OK,
                         stats.hitCount(),
                         stats.missCount(),
-                        this.requestCountsCache.size()));
+                        this.rateLimitBuckets.size()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<SnapshotStats>> getPublicOperationStats(String locale) {
+        log.debug("Retrieving public operation snapshot statistics");
+        var stats = this.operationService.getPublicOperationStats();
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.public.operations.stats",
+                        locale,
+                        HttpStatus.OK,
+                        stats.version(),
+                        stats.rebuildCount(),
+                        stats.entries()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<CacheStats>> getPrincipalCacheStats(String locale) {
+        log.debug("Retrieving principal cache statistics");
+        CacheStats stats = this.principalCache.stats();
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.principal.cache.stats",
+                        locale,
+                        HttpStatus.OK,
+                        stats.hitCount(),
+                        stats.missCount(),
+                        this.principalCache.size()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<TokenPurgeStats>> getTokenPurgeStats(String locale) {
+        log.debug("Retrieving expired token purge statistics");
+        var stats = this.tokenPurgeService.getStats();
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.token.purge.stats",
+                        locale,
+                        HttpStatus.OK,
+                        stats.lastRunPurged(),
+                        stats.lastRunDurationInMs(),
+                        stats.backlog()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<FilterRejectStats>> getFilterRejectStats(String locale) {
+        log.debug("Retrieving security filter rejection statistics");
+        var stats = this.filterRejectionWriter.getStats();
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.filter.reject.stats",
+                        locale,
+                        HttpStatus.OK,
+                        stats.total(),
+                        stats.rejections().get(FilterRejectReasonEnum.RATE_LIMITED),
+                        stats.rejections().get(FilterRejectReasonEnum.TOKEN_EXPIRED)));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<HeavyHitterStats>> getLoginHeavyHitters(int limit, String locale) {
+        log.debug("Retrieving login heavy hitters");
+        var stats = this.loginTrafficTracker.getStats(Math.max(limit, 1));
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.login.heavy.hitters",
+                        locale,
+                        HttpStatus.OK,
+                        stats.current().attempts(),
+                        stats.current().durationInSeconds(),
+                        stats.current().usernames().isEmpty() ? "-" : stats.current().usernames().getFirst().key()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDataPojo<PasswordHashingStats>> getPasswordHashingStats(String locale) {
+        log.debug("Retrieving password hashing statistics");
+        var stats = this.passwordEncoder.getStats();
+
+        return ResponseEntity.ok(
+                super.createDataResponse(
+                        stats,
+                        "monitoring.password.hashing.stats",
+                        locale,
+                        HttpStatus.OK,
+                        stats.completed(),
+                        stats.rejected(),
+                        stats.queued()));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.spacecodee.springbootsecurityopentemplate.data.common.auth;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,13 @@ public class AuthenticationResponsePojo implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private String jwt;
-}
\ No newline at end of file
+
+    // Only issued in split-token mode, omitted from the response otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private String refreshToken;
+
+    public AuthenticationResponsePojo(String jwt) {
+        this.jwt = jwt;
+    }
+}
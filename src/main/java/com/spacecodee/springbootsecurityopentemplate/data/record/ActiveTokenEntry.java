@@ -0,0 +1,8 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.time.Instant;
+
+public record ActiveTokenEntry(
+        Integer userId,
+        Instant expiresAt) {
+}
@@ -0,0 +1,15 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.util.List;
+
+/**
+ * Decisions in request order plus how long this call spent loading users and evaluating the queries.
+ */
+public record AuthorizationDecisionBatch(
+        List<AuthorizationDecisionResult> decisions,
+        int distinctUsers,
+        int distinctRoles,
+        long userResolutionInMicros,
+        long evaluationInMicros,
+        long elapsedInMicros) {
+}
@@ -0,0 +1,11 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import com.spacecodee.springbootsecurityopentemplate.enums.AuthorizationDecisionReasonEnum;
+
+public record AuthorizationDecisionResult(
+        String username,
+        String method,
+        String path,
+        boolean allowed,
+        AuthorizationDecisionReasonEnum reason) {
+}
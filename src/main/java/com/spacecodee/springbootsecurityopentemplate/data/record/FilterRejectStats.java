@@ -0,0 +1,10 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import com.spacecodee.springbootsecurityopentemplate.enums.FilterRejectReasonEnum;
+
+import java.util.Map;
+
+public record FilterRejectStats(
+        Map<FilterRejectReasonEnum, Long> rejections,
+        long total) {
+}
@@ -0,0 +1,11 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+/**
+ * One entry of a Space-Saving summary: {@code count} overestimates the real count by at most {@code error}.
+ */
+public record HeavyHitter(
+        String key,
+        long count,
+        long error,
+        double ratePerSecond) {
+}
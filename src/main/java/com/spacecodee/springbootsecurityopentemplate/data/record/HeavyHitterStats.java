@@ -0,0 +1,6 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+public record HeavyHitterStats(
+        HeavyHitterWindow current,
+        HeavyHitterWindow previous) {
+}
@@ -0,0 +1,12 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.time.Instant;
+import java.util.List;
+
+public record HeavyHitterWindow(
+        Instant start,
+        long durationInSeconds,
+        long attempts,
+        List<HeavyHitter> clientIps,
+        List<HeavyHitter> usernames) {
+}
@@ -0,0 +1,12 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+public record PasswordHashingStats(
+        int threads,
+        int queued,
+        int queueCapacity,
+        long completed,
+        long rejected,
+        double averageQueueWaitInMs,
+        double averageHashTimeInMs,
+        double maximumQueueWaitInMs) {
+}
@@ -0,0 +1,14 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsOperationDTO;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public record PublicOperationSnapshot(
+        long version,
+        List<UserDetailsOperationDTO> operations,
+        Set<Integer> operationIds,
+        Instant builtAt) {
+}
@@ -0,0 +1,26 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+/**
+ * Outcome of a rate limit check, with what the {@code X-RateLimit-*} headers need.
+ *
+ * @param resetAfterNanos time until the bucket is full again
+ * @param retryAfterNanos time until the next request would be allowed, zero when this one was
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        String rule,
+        int limit,
+        int remaining,
+        long resetAfterNanos,
+        long retryAfterNanos) {
+
+    private static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, null, -1, -1, 0, 0);
+
+    public static RateLimitDecision unlimited() {
+        return UNLIMITED;
+    }
+
+    public boolean isLimited() {
+        return this.rule != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.time.Instant;
+
+public record SnapshotStats(
+        long version,
+        long rebuildCount,
+        int entries,
+        Instant builtAt) {
+}
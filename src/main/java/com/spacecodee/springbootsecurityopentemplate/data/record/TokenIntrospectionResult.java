@@ -0,0 +1,29 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.util.List;
+
+/**
+ * Introspection answer for one token, in the spirit of RFC 7662. Only {@code active} is set for tokens that are
+ * malformed, expired, revoked or no longer stored; {@code exp} is in epoch seconds. {@code authorities} is
+ * {@code null} when the token's authority bitset no longer matches the operations, the caller then has to look the
+ * user up.
+ */
+public record TokenIntrospectionResult(
+        boolean active,
+        String subject,
+        String role,
+        Long exp,
+        List<String> authorities) {
+
+    private static final TokenIntrospectionResult INACTIVE = new TokenIntrospectionResult(false, null, null, null,
+            null);
+
+    public static TokenIntrospectionResult inactive() {
+        return INACTIVE;
+    }
+
+    public static TokenIntrospectionResult active(VerifiedToken verifiedToken, List<String> authorities) {
+        return new TokenIntrospectionResult(true, verifiedToken.subject(), verifiedToken.role(),
+                verifiedToken.expiresAt().getEpochSecond(), authorities);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.time.Instant;
+
+public record TokenPurgeStats(
+        Instant lastRunAt,
+        long lastRunPurged,
+        int lastRunBatches,
+        long lastRunDurationInMs,
+        long backlog,
+        long totalPurged,
+        long runs) {
+}
@@ -2,5 +2,6 @@ package com.spacecodee.springbootsecurityopentemplate.data.record;
 
 public record TokenValidationResult(
         String token,
-        boolean wasRefreshed) {
-}
\ No newline at end of file
+        boolean wasRefreshed,
+        VerifiedToken verifiedToken) {
+}
@@ -0,0 +1,19 @@
+package com.spacecodee.springbootsecurityopentemplate.data.record;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A JWT whose signature has already been checked, with the claims every request needs decoded once.
+ * {@code expired} is set when the signature is valid but {@code exp} has passed. Authorities are not decoded,
+ * authorization reads them from the loaded user so permission changes apply without waiting for a new token.
+ */
+public record VerifiedToken(
+        String token,
+        String subject,
+        Integer userId,
+        String role,
+        Instant expiresAt,
+        Map<String, Object> claims,
+        boolean expired) {
+}
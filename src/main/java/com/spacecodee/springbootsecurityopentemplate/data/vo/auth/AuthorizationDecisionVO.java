@@ -0,0 +1,12 @@
+package com.spacecodee.springbootsecurityopentemplate.data.vo.auth;
+
+import com.spacecodee.springbootsecurityopentemplate.constants.ValidationConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record AuthorizationDecisionVO(
+        @NotEmpty(message = "{validation.authorization.queries.required}") @Size(max = ValidationConstants.MAX_AUTHORIZATION_QUERIES, message = "{validation.authorization.queries.size}") List<@Valid AuthorizationQueryVO> queries) {
+}
@@ -0,0 +1,11 @@
+package com.spacecodee.springbootsecurityopentemplate.data.vo.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record AuthorizationQueryVO(
+        @NotBlank(message = "{validation.authorization.username.required}") String username,
+
+        @NotBlank(message = "{validation.authorization.method.required}") String method,
+
+        @NotBlank(message = "{validation.authorization.path.required}") String path) {
+}
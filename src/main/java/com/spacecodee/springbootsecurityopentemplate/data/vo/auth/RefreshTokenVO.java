@@ -0,0 +1,4 @@
+package com.spacecodee.springbootsecurityopentemplate.data.vo.auth;
+
+public record RefreshTokenVO(String refreshToken) {
+}
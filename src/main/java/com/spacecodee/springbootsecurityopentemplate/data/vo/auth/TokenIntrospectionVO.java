@@ -0,0 +1,11 @@
+package com.spacecodee.springbootsecurityopentemplate.data.vo.auth;
+
+import com.spacecodee.springbootsecurityopentemplate.constants.ValidationConstants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TokenIntrospectionVO(
+        @NotEmpty(message = "{validation.introspection.tokens.required}") @Size(max = ValidationConstants.MAX_INTROSPECTION_TOKENS, message = "{validation.introspection.tokens.size}") List<String> tokens) {
+}
@@ -0,0 +1,9 @@
+package com.spacecodee.springbootsecurityopentemplate.enums;
+
+public enum AuthorizationDecisionReasonEnum {
+    PUBLIC,
+    GRANTED,
+    NOT_GRANTED,
+    UNKNOWN_OPERATION,
+    UNKNOWN_USER
+}
@@ -0,0 +1,19 @@
+package com.spacecodee.springbootsecurityopentemplate.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@AllArgsConstructor
+@Getter
+public enum FilterRejectReasonEnum {
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS),
+    BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE),
+    BODY_INVALID(HttpStatus.BAD_REQUEST),
+    TOKEN_EXPIRED(HttpStatus.UNAUTHORIZED),
+    TOKEN_INVALID(HttpStatus.UNAUTHORIZED),
+    TOKEN_NOT_FOUND(HttpStatus.UNAUTHORIZED),
+    TOKEN_UNEXPECTED(HttpStatus.UNAUTHORIZED);
+
+    private final HttpStatus status;
+}
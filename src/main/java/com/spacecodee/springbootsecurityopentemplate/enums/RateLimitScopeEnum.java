@@ -0,0 +1,8 @@
+package com.spacecodee.springbootsecurityopentemplate.enums;
+
+public enum RateLimitScopeEnum {
+    ROUTE,
+    IP,
+    USERNAME,
+    IP_USERNAME
+}
@@ -0,0 +1,6 @@
+package com.spacecodee.springbootsecurityopentemplate.enums;
+
+public enum RevocationSubjectEnum {
+    USER,
+    ROLE
+}
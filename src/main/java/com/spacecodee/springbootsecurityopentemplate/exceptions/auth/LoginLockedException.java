@@ -0,0 +1,14 @@
+package com.spacecodee.springbootsecurityopentemplate.exceptions.auth;
+
+import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class LoginLockedException extends BaseException {
+
+    public LoginLockedException(String messageKey, String locale, Object... parameters) {
+        // Thrown for every attempt on a locked account, the stack trace would always be the same
+        super(messageKey, locale, false, parameters);
+    }
+}
@@ -0,0 +1,14 @@
+package com.spacecodee.springbootsecurityopentemplate.exceptions.auth;
+
+import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends BaseException {
+
+    public PasswordHashingBusyException(String messageKey, String locale) {
+        // Raised in bursts when the hashing queue is full, a stack trace per rejection is wasted work
+        super(messageKey, locale, false);
+    }
+}
@@ -4,6 +4,6 @@ import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseExcepti
 
 public class TokenExpiredException extends BaseException {
     public TokenExpiredException(String messageKey, String locale) {
-        super(messageKey, locale);
+        super(messageKey, locale, false);
     }
 }
\ No newline at end of file
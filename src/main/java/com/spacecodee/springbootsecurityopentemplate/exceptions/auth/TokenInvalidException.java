@@ -4,6 +4,6 @@ import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseExcepti
 
 public class TokenInvalidException extends BaseException {
     public TokenInvalidException(String messageKey, String locale) {
-        super(messageKey, locale);
+        super(messageKey, locale, false);
     }
 }
\ No newline at end of file
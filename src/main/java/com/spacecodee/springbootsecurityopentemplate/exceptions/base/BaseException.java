@@ -15,4 +15,15 @@ public abstract class BaseException extends RuntimeException {
         this.locale = locale;
         this.parameters = parameters;
     }
+
+    /**
+     * For exceptions that are an expected outcome, such as a rejected token, where capturing the stack trace
+     * costs more than the rest of the rejection.
+     */
+    protected BaseException(String messageKey, String locale, boolean writableStackTrace, Object... parameters) {
+        super(messageKey, null, false, writableStackTrace);
+        this.messageKey = messageKey;
+        this.locale = locale;
+        this.parameters = parameters;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.spacecodee.springbootsecurityopentemplate.data.common.response.ApiErr
 import com.spacecodee.springbootsecurityopentemplate.data.record.ValidationError;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.InvalidCredentialsException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.InvalidPasswordComplexityException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.LoginLockedException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.PasswordHashingBusyException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.UnauthorizedException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseException;
@@ -198,6 +200,8 @@ public class GlobalExceptionHandler {
             case LastTechnicianException ignored -> HttpStatus.CONFLICT;
             case LastDeveloperException ignored -> HttpStatus.CONFLICT;
             case InvalidCredentialsException ignored -> HttpStatus.UNAUTHORIZED;
+            case LoginLockedException ignored -> HttpStatus.TOO_MANY_REQUESTS;
+            case PasswordHashingBusyException ignored -> HttpStatus.SERVICE_UNAVAILABLE;
             case TokenExpiredException ignored -> HttpStatus.UNAUTHORIZED;
             case UnauthorizedException ignored -> HttpStatus.FORBIDDEN;
             case UserNotFoundException ignored -> HttpStatus.NOT_FOUND;
@@ -29,6 +29,14 @@ public class ExceptionShortComponent {
         return new RateLimitExceededException(messageKey, locale);
     }
 
+    public LoginLockedException loginLockedException(String messageKey, String locale, Object... params) {
+        return new LoginLockedException(messageKey, locale, params);
+    }
+
+    public PasswordHashingBusyException passwordHashingBusyException(String messageKey, String locale) {
+        return new PasswordHashingBusyException(messageKey, locale);
+    }
+
     public TokenInvalidException tokenInvalidException(String messageKey, String locale) {
         return new TokenInvalidException(messageKey, locale);
     }
@@ -5,6 +5,7 @@ import com.spacecodee.springbootsecurityopentemplate.data.dto.auth.JwtTokenDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.auth.SecurityJwtTokenDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.jwt.JwtTokenUVO;
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.JwtTokenEntity;
+import com.spacecodee.springbootsecurityopentemplate.utils.TokenDigestUtils;
 import org.mapstruct.*;
 
 import java.util.Date;
@@ -21,6 +22,7 @@ public interface IJwtTokenMapper {
     @Named("mapCommonJwtFields")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "token", source = "token")
+    @Mapping(target = "tokenHash", source = "token", qualifiedByName = "toTokenHash")
     @Mapping(target = "isValid", constant = "true")
     @Mapping(target = "expiryDate", source = "expiryDate")
     JwtTokenEntity mapCommonJwtFields(IJwtTokenFields source);
@@ -62,4 +64,9 @@ public interface IJwtTokenMapper {
      */
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateJwtTokenEntity(@MappingTarget JwtTokenEntity target, JwtTokenEntity source);
+
+    @Named("toTokenHash")
+    default byte[] toTokenHash(String token) {
+        return token == null ? null : TokenDigestUtils.sha256(token);
+    }
 }
\ No newline at end of file
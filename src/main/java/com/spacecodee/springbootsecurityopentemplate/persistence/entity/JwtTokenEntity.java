@@ -26,6 +26,8 @@ public class JwtTokenEntity implements Serializable {
 
     private String token;
 
+    private byte[] tokenHash;
+
     private Boolean isValid = false;
 
     private Instant expiryDate;
@@ -46,6 +48,15 @@ public class JwtTokenEntity implements Serializable {
         return token;
     }
 
+    /**
+     * SHA-256 of {@link #token}, every lookup goes through the unique index on this column.
+     */
+    @NotNull
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
     @NotNull
     @Column(name = "is_valid", nullable = false)
     public Boolean getIsValid() {
@@ -0,0 +1,42 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@ToString
+@Accessors(chain = true)
+@Entity()
+@Table(name = "rate_limit_bucket", schema = "public")
+public class RateLimitBucketEntity implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6014783512367240981L;
+    private String bucketKey;
+
+    private Long theoreticalArrivalMicros;
+
+    @Id
+    @Column(name = "bucket_key", nullable = false, length = Integer.MAX_VALUE)
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    @NotNull
+    @Column(name = "theoretical_arrival_micros", nullable = false)
+    public Long getTheoreticalArrivalMicros() {
+        return theoreticalArrivalMicros;
+    }
+}
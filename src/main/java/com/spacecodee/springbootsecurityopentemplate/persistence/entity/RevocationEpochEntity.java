@@ -0,0 +1,68 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.entity;
+
+import com.spacecodee.springbootsecurityopentemplate.enums.RevocationSubjectEnum;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@ToString
+@Accessors(chain = true)
+@Entity()
+@Table(name = "revocation_epoch", schema = "public")
+public class RevocationEpochEntity implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3125406731873581432L;
+    private Integer id;
+
+    private RevocationSubjectEnum subjectType;
+
+    private Integer subjectId;
+
+    private Long epoch;
+
+    private Instant updatedAt;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revocation_epoch_id_gen")
+    @SequenceGenerator(name = "revocation_epoch_id_gen", sequenceName = "revocation_epoch_id_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false)
+    public Integer getId() {
+        return id;
+    }
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = Integer.MAX_VALUE)
+    public RevocationSubjectEnum getSubjectType() {
+        return subjectType;
+    }
+
+    @NotNull
+    @Column(name = "subject_id", nullable = false)
+    public Integer getSubjectId() {
+        return subjectId;
+    }
+
+    @NotNull
+    @Column(name = "epoch", nullable = false)
+    public Long getEpoch() {
+        return epoch;
+    }
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@ToString
+@Accessors(chain = true)
+@Entity()
+@Table(name = "revoked_access_token", schema = "public")
+public class RevokedAccessTokenEntity implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2470318625916310587L;
+    private byte[] tokenHash;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+
+    /**
+     * SHA-256 of the access token, the token itself is never stored.
+     */
+    @Id
+    @Column(name = "token_hash", nullable = false, length = 32)
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -2,17 +2,51 @@ package com.spacecodee.springbootsecurityopentemplate.persistence.repository;
 
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.JwtTokenEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface IJwtTokenRepository extends JpaRepository<JwtTokenEntity, Integer> {
     Optional<JwtTokenEntity> findByUserEntity_Username(String username);
 
-    Optional<JwtTokenEntity> findByToken(String token);
+    Optional<JwtTokenEntity> findByTokenHash(byte[] tokenHash);
 
-    boolean existsByToken(String jwt);
+    boolean existsByTokenHash(byte[] tokenHash);
 
-    void deleteByToken(String token);
+    @Query("select t from JwtTokenEntity t where t.userEntity.id = ?1")
+    List<JwtTokenEntity> findAllByUserId(Integer userId);
 
-    void deleteByUserEntityId(Integer userId);
+    // One round trip for a whole introspection batch, served by the jwt_token_token_hash_key index
+    @Query("select t from JwtTokenEntity t where t.tokenHash in ?1")
+    List<JwtTokenEntity> findAllByTokenHashIn(Collection<byte[]> tokenHashes);
+
+    // Bulk deletes: one DELETE statement instead of loading and removing every matching entity
+    @Modifying
+    @Query("delete from JwtTokenEntity t where t.tokenHash = ?1")
+    int deleteByTokenHash(byte[] tokenHash);
+
+    @Modifying
+    @Query("delete from JwtTokenEntity t where t.userEntity.id = ?1")
+    int deleteAllByUserId(Integer userId);
+
+    @Modifying
+    @Query("delete from JwtTokenEntity t where t.userEntity.id in ?1")
+    int deleteAllByUserIdIn(Collection<Integer> userIds);
+
+    // Oldest expired rows first through jwt_token_expiry_date_idx, rows locked by request threads are skipped
+    @Modifying
+    @Query(value = "DELETE FROM public.jwt_token WHERE id IN (" +
+            "SELECT id FROM public.jwt_token WHERE expiry_date < ?1 " +
+            "ORDER BY expiry_date LIMIT ?2 FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpiredBatch(Instant cutoff, int batchSize);
+
+    // Scoped to the current transaction, so it only bounds the waits of the batch that sets it
+    @Query(value = "SELECT set_config('lock_timeout', ?1, true)", nativeQuery = true)
+    String setLocalLockTimeout(String lockTimeout);
+
+    long countByExpiryDateBefore(Instant cutoff);
 }
\ No newline at end of file
@@ -11,4 +11,13 @@ public interface IOperationRepository extends JpaRepository<OperationEntity, Int
 
     @Query("SELECT o FROM OperationEntity o WHERE o.permitAll = true")
     List<OperationEntity> findByPermitAllIsPublic();
+
+    @Query("SELECT o FROM OperationEntity o JOIN FETCH o.moduleEntity")
+    List<OperationEntity> findAllWithModule();
+
+    // Digest of every column routing and public access depend on, so replicas can poll for changes in one row
+    @Query(value = "SELECT md5(coalesce(string_agg(o.id || ':' || o.tag || ':' || coalesce(o.path, '') || ':' || " +
+            "o.http_method || ':' || o.permit_all || ':' || m.base_path, ',' ORDER BY o.id), '')) " +
+            "FROM public.operation o JOIN public.module m ON m.id = o.module_id", nativeQuery = true)
+    String findRoutingFingerprint();
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.repository;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RateLimitBucketEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface IRateLimitBucketRepository extends JpaRepository<RateLimitBucketEntity, String> {
+
+    // Adds a batch of hits in one statement: each key's arrival time moves to max(stored, now) + increment, the
+    // same step as the in-process bucket, and the resulting arrival times come back as (key, micros) rows
+    @Transactional
+    @Query(value = "INSERT INTO public.rate_limit_bucket AS bucket (bucket_key, theoretical_arrival_micros) " +
+            "SELECT pending.bucket_key, ?3 + pending.increment " +
+            "FROM unnest(cast(?1 AS text[]), cast(?2 AS bigint[])) AS pending(bucket_key, increment) " +
+            "ON CONFLICT (bucket_key) DO UPDATE SET theoretical_arrival_micros = " +
+            "GREATEST(bucket.theoretical_arrival_micros, ?3) + (EXCLUDED.theoretical_arrival_micros - ?3) " +
+            "RETURNING bucket_key, theoretical_arrival_micros",
+            nativeQuery = true)
+    List<Object[]> addHits(String[] bucketKeys, Long[] incrementsInMicros, long nowInMicros);
+
+    // A bucket whose arrival time has passed is full, the row carries no information any more
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM public.rate_limit_bucket WHERE theoretical_arrival_micros < ?1", nativeQuery = true)
+    int deleteFullBuckets(long nowInMicros);
+}
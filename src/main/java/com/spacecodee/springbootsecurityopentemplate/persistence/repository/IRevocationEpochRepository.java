@@ -0,0 +1,28 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.repository;
+
+import com.spacecodee.springbootsecurityopentemplate.enums.RevocationSubjectEnum;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RevocationEpochEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface IRevocationEpochRepository extends JpaRepository<RevocationEpochEntity, Integer> {
+
+    // Creates the subject at epoch 1 or increments it, atomically and without a prior read
+    @Modifying
+    @Query(value = "INSERT INTO public.revocation_epoch (subject_type, subject_id, epoch, updated_at) " +
+            "VALUES (?1, ?2, 1, now() AT TIME ZONE 'UTC') " +
+            "ON CONFLICT (subject_type, subject_id) DO UPDATE " +
+            "SET epoch = public.revocation_epoch.epoch + 1, updated_at = now() AT TIME ZONE 'UTC'",
+            nativeQuery = true)
+    int bumpEpoch(String subjectType, Integer subjectId);
+
+    Optional<RevocationEpochEntity> findBySubjectTypeAndSubjectId(RevocationSubjectEnum subjectType,
+                                                                   Integer subjectId);
+
+    List<RevocationEpochEntity> findByUpdatedAtAfter(Instant since);
+}
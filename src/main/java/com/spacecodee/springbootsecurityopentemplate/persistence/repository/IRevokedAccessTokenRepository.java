@@ -0,0 +1,26 @@
+package com.spacecodee.springbootsecurityopentemplate.persistence.repository;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RevokedAccessTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface IRevokedAccessTokenRepository extends JpaRepository<RevokedAccessTokenEntity, byte[]> {
+
+    // A second logout with the same token keeps the first row
+    @Modifying
+    @Query(value = "INSERT INTO public.revoked_access_token (token_hash, expires_at, revoked_at) " +
+            "VALUES (?1, ?2, now() AT TIME ZONE 'UTC') ON CONFLICT (token_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(byte[] tokenHash, Instant expiresAt);
+
+    List<RevokedAccessTokenEntity> findByRevokedAtAfter(Instant since);
+
+    List<RevokedAccessTokenEntity> findByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Query("delete from RevokedAccessTokenEntity t where t.expiresAt < ?1")
+    int deleteExpired(Instant now);
+}
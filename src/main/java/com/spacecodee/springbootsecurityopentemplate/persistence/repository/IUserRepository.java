@@ -2,8 +2,11 @@ package com.spacecodee.springbootsecurityopentemplate.persistence.repository;
 
 import com.spacecodee.springbootsecurityopentemplate.enums.RoleEnum;
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,9 +18,24 @@ public interface IUserRepository extends JpaRepository<UserEntity, Integer> {
 
     Optional<UserEntity> findByUsername(String username);
 
+    @EntityGraph(attributePaths = {
+            "roleEntity",
+            "roleEntity.permissionEntities",
+            "roleEntity.permissionEntities.operationEntity",
+            "roleEntity.permissionEntities.operationEntity.moduleEntity"})
+    Optional<UserEntity> findWithPermissionsByUsername(String username);
+
     boolean existsByUsername(String username);
 
     List<UserEntity> findByRoleEntity_Name(RoleEnum name);
 
     long countByRoleEntity_Name(RoleEnum roleEntityName);
+
+    @Query("select u.id from UserEntity u where u.roleEntity.id = ?1")
+    List<Integer> findIdsByRoleId(Integer roleId);
+
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = ?2 where u.id = ?1")
+    int updatePassword(Integer id, String password);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.spacecodee.springbootsecurityopentemplate.security.authentication.details;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Request details that also carry the token verified by {@code JwtAuthenticationFilter}, so later stages such as
+ * the authorization manager read its claims instead of parsing the JWT again.
+ */
+@Getter
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final transient VerifiedToken verifiedToken;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, VerifiedToken verifiedToken) {
+        super(request);
+        this.verifiedToken = verifiedToken;
+    }
+}
@@ -1,7 +1,11 @@
 package com.spacecodee.springbootsecurityopentemplate.security.authentication.filter;
 
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenUnexpectedException;
-import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseException;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.details.JwtAuthenticationDetails;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.token.DeferredJwtAuthenticationToken;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.route.PublicRouteMatcher;
+import com.spacecodee.springbootsecurityopentemplate.security.handler.FilterRejectionWriter;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
@@ -12,9 +16,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,7 +31,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final ITokenServiceFacade tokenServiceFacade;
     private final IJwtProviderService jwtProviderService; // Still needed for extractJwtFromRequest
     private final IUserDetailsService userService;
-    private final ExceptionShortComponent exceptionShortComponent;
+    private final PublicRouteMatcher publicRouteMatcher;
+    private final FilterRejectionWriter filterRejectionWriter;
+
+    /**
+     * Public operations and swagger paths are permitted whatever the token says, so their token is neither
+     * verified nor refreshed.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return this.publicRouteMatcher.isPublic(request);
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -50,20 +62,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.setHeader("Authorization", "Bearer " + validationResult.token());
             }
 
-            var username = this.tokenServiceFacade.extractUsername(validationResult.token());
-            var userDetailsDTO = this.userService.findByUsername(locale, username);
+            // The facade already verified and decoded the token, reuse its claims instead of parsing it again
+            var verifiedToken = validationResult.verifiedToken();
+            var username = verifiedToken.subject();
 
-            var authenticationToken = new UsernamePasswordAuthenticationToken(
-                    username,
-                    null,
-                    userDetailsDTO.getAuthorities());
+            // The user is only loaded if the authorization decision or the endpoint needs it
+            var authenticationToken = new DeferredJwtAuthenticationToken(username,
+                    () -> this.userService.findByUsername(locale, username));
 
-            authenticationToken.setDetails(new WebAuthenticationDetails(request));
+            authenticationToken.setDetails(new JwtAuthenticationDetails(request, verifiedToken));
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         } catch (TokenUnexpectedException e) {
             log.warn("There was an unexpected error when we were trying to refresh the token, please log in again: {}",
                     e.getMessage());
-            throw this.exceptionShortComponent.tokenUnexpectedException("token.unexpected", locale);
+            this.filterRejectionWriter.reject(request, response, e, locale);
+            return;
+        } catch (BaseException e) {
+            // Expired, invalid or revoked token: answer 401 here instead of throwing out of the chain
+            log.debug("Rejecting request to {}: {}", request.getRequestURI(), e.getMessageKey());
+            this.filterRejectionWriter.reject(request, response, e, locale);
+            return;
         }
 
         filterChain.doFilter(request, response);
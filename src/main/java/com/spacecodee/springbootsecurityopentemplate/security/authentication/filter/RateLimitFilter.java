@@ -1,35 +1,48 @@
 package com.spacecodee.springbootsecurityopentemplate.security.authentication.filter;
 
-import com.google.common.cache.LoadingCache;
-import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.enums.FilterRejectReasonEnum;
+import com.spacecodee.springbootsecurityopentemplate.security.handler.FilterRejectionWriter;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.CachedBodyRequestWrapper;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.ClientIpResolver;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.LoginTrafficTracker;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRateLimitService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
-    private final LoadingCache<String, Integer> requestCountsCache;
-    private final ExceptionShortComponent exceptionShortComponent;
 
-    private static final int MAX_ATTEMPTS = 5;
+    // Login bodies are a username and a password, anything larger is refused on routes keyed by username
+    private static final int MAX_USERNAME_BODY_BYTES = 4096;
+    private static final String USERNAME_FIELD = "username";
 
-    public RateLimitFilter(LoadingCache<String, Integer> requestCountsCache,
-            ExceptionShortComponent exceptionShortComponent) {
-        this.requestCountsCache = requestCountsCache;
-        this.exceptionShortComponent = exceptionShortComponent;
+    @Value("${app.api.context-path}")
+    private String contextPath;
+
+    private final IRateLimitService rateLimitService;
+    private final ClientIpResolver clientIpResolver;
+    private final FilterRejectionWriter filterRejectionWriter;
+    private final LoginTrafficTracker loginTrafficTracker;
+
+    public RateLimitFilter(IRateLimitService rateLimitService, ClientIpResolver clientIpResolver,
+                           FilterRejectionWriter filterRejectionWriter, LoginTrafficTracker loginTrafficTracker) {
+        this.rateLimitService = rateLimitService;
+        this.clientIpResolver = clientIpResolver;
+        this.filterRejectionWriter = filterRejectionWriter;
+        this.loginTrafficTracker = loginTrafficTracker;
     }
 
     @Override
@@ -40,63 +53,68 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
         log.debug("RateLimitFilter executing for URI: {}", request.getRequestURI());
 
-        if (this.isLoginRequest(request)) {
-            log.debug("Login request detected");
+        var method = request.getMethod();
+        var path = this.extractPath(request);
+
+        HttpServletRequest chainRequest = request;
+        String username = null;
+        var tracked = this.loginTrafficTracker.tracks(method, path);
+        var keyedByUsername = this.rateLimitService.needsUsername(method, path);
+        if (tracked || keyedByUsername) {
+            var cachedRequest = CachedBodyRequestWrapper.wrap(request, MAX_USERNAME_BODY_BYTES);
+            if (cachedRequest.isOversized()) {
+                this.filterRejectionWriter.rejectBody(request, response, FilterRejectReasonEnum.BODY_TOO_LARGE,
+                        LocaleResolverFilter.getCurrentLocale());
+                return;
+            }
 
-            String clientIp = this.getClientIP(request);
-            if (this.isMaximumLoginAttemptsExceeded(response, clientIp)) {
-                throw this.exceptionShortComponent.rateLimitExceededException(
-                        "error.auth.rate.limit.exceeded",
+            chainRequest = cachedRequest;
+            username = cachedRequest.readStringField(USERNAME_FIELD);
+            // Without a username the per-account rules would be skipped, so such a body is not let through
+            if (keyedByUsername && username == null) {
+                this.filterRejectionWriter.rejectBody(request, response, FilterRejectReasonEnum.BODY_INVALID,
                         LocaleResolverFilter.getCurrentLocale());
+                return;
             }
         }
 
-        filterChain.doFilter(request, response);
-    }
-
-    private boolean isLoginRequest(@NotNull HttpServletRequest request) {
-        final var pathMatcher = new AntPathMatcher();
+        var clientIp = this.clientIpResolver.resolve(request);
+        if (tracked) {
+            // Every attempt counts, refused ones included
+            this.loginTrafficTracker.record(clientIp, username);
+        }
 
-        return request.getMethod().equals("POST") && pathMatcher.match("/api/v1/auth/authenticate", request.getRequestURI());
-    }
+        var decision = this.rateLimitService.tryAcquire(method, path, clientIp, username);
+        if (decision.isLimited()) {
+            this.addRateLimitHeaders(response, decision);
+        }
 
-    private boolean isMaximumLoginAttemptsExceeded(HttpServletResponse response, String clientIp) {
-        try {
-            int attempts = this.requestCountsCache.get(clientIp);
-            this.addRateLimitHeaders(response, attempts);
-            if (attempts >= RateLimitFilter.MAX_ATTEMPTS) {
-                log.warn("Rate limit exceeded for IP: {}", clientIp);
-                return true;
-            }
-            this.requestCountsCache.put(clientIp, attempts + 1);
-            return false;
-        } catch (ExecutionException e) {
-            log.error("Cache error for IP: {}", clientIp, e);
-            return false;
+        if (!decision.allowed()) {
+            this.filterRejectionWriter.rejectRateLimited(request, response, LocaleResolverFilter.getCurrentLocale());
+            return;
         }
-    }
 
-    private void addRateLimitHeaders(@NotNull HttpServletResponse response, int attempts) {
-        response.addHeader("X-RateLimit-Limit", String.valueOf(MAX_ATTEMPTS));
-        response.addHeader("X-RateLimit-Remaining", String.valueOf(MAX_ATTEMPTS - attempts));
-        response.addHeader("X-RateLimit-Reset",
-                String.valueOf(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(15)));
+        filterChain.doFilter(chainRequest, response);
     }
 
-    @Scheduled(fixedRate = 3600000) // Every hour
-    public void cleanupCache() {
-        requestCountsCache.cleanUp();
+    private void addRateLimitHeaders(@NotNull HttpServletResponse response, @NotNull RateLimitDecision decision) {
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        // Epoch second at which the bucket is full again
+        var resetAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+                + toSecondsRoundingUp(decision.resetAfterNanos());
+        response.setHeader("X-RateLimit-Reset", String.valueOf(resetAt));
+        if (!decision.allowed()) {
+            response.setHeader("Retry-After", String.valueOf(toSecondsRoundingUp(decision.retryAfterNanos())));
+        }
     }
 
-    private String getClientIP(HttpServletRequest request) {
-        if (request == null) {
-            return null;
-        }
+    private static long toSecondsRoundingUp(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
 
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null || xfHeader.isEmpty()) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0].trim();
+    private @NotNull String extractPath(@NotNull HttpServletRequest request) {
+        var uri = request.getRequestURI();
+        return uri.startsWith(this.contextPath) ? uri.substring(this.contextPath.length()) : uri;
     }
 }
@@ -0,0 +1,45 @@
+package com.spacecodee.springbootsecurityopentemplate.security.authentication.token;
+
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * Authentication built from a verified JWT whose user is loaded only when something asks for it.
+ * <p>
+ * The principal is the token subject, so reading the username never touches the user store. The user details,
+ * and with them the authorities, are loaded on the first call to {@link #getUserDetails()} or
+ * {@link #getAuthorities()} and reused for the rest of the request.
+ */
+public class DeferredJwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient Supplier<UserDetailsDTO> userDetails;
+
+    public DeferredJwtAuthenticationToken(@NotNull String username, @NotNull Supplier<UserDetailsDTO> userDetails) {
+        super(username, null, AuthorityUtils.NO_AUTHORITIES);
+        this.userDetails = SingletonSupplier.of(userDetails);
+    }
+
+    public UserDetailsDTO getUserDetails() {
+        return this.userDetails.get();
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return Collections.unmodifiableCollection(this.getUserDetails().getAuthorities());
+    }
+
+    @Override
+    public String toString() {
+        // The inherited toString lists the authorities, logging the context must not load the user
+        return this.getClass().getSimpleName() + " [Principal=" + this.getPrincipal() + ", Authenticated="
+                + this.isAuthenticated() + ", Details=" + this.getDetails() + "]";
+    }
+}
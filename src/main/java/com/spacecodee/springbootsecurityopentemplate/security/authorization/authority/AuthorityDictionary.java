@@ -0,0 +1,220 @@
+package com.spacecodee.springbootsecurityopentemplate.security.authorization.authority;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable mapping between operation tags and their operation ids, used to carry a user's authorities in a JWT
+ * as a bitset instead of a list of tag strings.
+ * <p>
+ * Bit {@code n} of the encoded value stands for the operation with id {@code n}. Ids are primary keys, so they
+ * are stable, but an operation can still be deleted or renamed; the encoded value is therefore prefixed with a
+ * version {@code <id range>-<checksum>} where the checksum covers every {@code (id, tag)} pair below the range.
+ * New operations get higher ids and leave that prefix untouched, so values written before they were added still
+ * decode, while a value whose range contains a renamed or deleted operation does not.
+ * <p>
+ * Decoding hands out one shared {@link GrantedAuthority} instance per operation, no tag string is rebuilt.
+ */
+public final class AuthorityDictionary {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private static final char VERSION_SEPARATOR = '.';
+    private static final char RANGE_SEPARATOR = '-';
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private final String version;
+    // Checksum of the (id, tag) pairs with an id below each index, one entry per possible id range
+    private final long[] prefixChecksums;
+    private final GrantedAuthority[] authorityByOperationId;
+    private final Map<String, Integer> operationIdByTag;
+    // Keyed by role name, the ROLE_ authority is built once per role
+    private final Map<String, GrantedAuthority> roleAuthorities = new ConcurrentHashMap<>();
+
+    private AuthorityDictionary(long[] prefixChecksums, GrantedAuthority[] authorityByOperationId,
+                                Map<String, Integer> operationIdByTag) {
+        this.prefixChecksums = prefixChecksums;
+        this.version = versionFor(authorityByOperationId.length, prefixChecksums[authorityByOperationId.length]);
+        this.authorityByOperationId = authorityByOperationId;
+        this.operationIdByTag = operationIdByTag;
+    }
+
+    public static @NotNull AuthorityDictionary empty() {
+        return new AuthorityDictionary(new long[]{new CRC32().getValue()}, new GrantedAuthority[0], Map.of());
+    }
+
+    public static @NotNull AuthorityDictionary build(@NotNull List<OperationEntity> operations) {
+        var sorted = operations.stream()
+                .sorted(Comparator.comparing(OperationEntity::getId))
+                .toList();
+
+        int maxId = sorted.isEmpty() ? -1 : sorted.getLast().getId();
+        var authorities = new GrantedAuthority[maxId + 1];
+        var prefixChecksums = new long[maxId + 2];
+        Map<String, Integer> idByTag = new HashMap<>();
+        var checksum = new CRC32();
+        int nextId = 0;
+        for (OperationEntity operation : sorted) {
+            Arrays.fill(prefixChecksums, nextId, operation.getId() + 1, checksum.getValue());
+            authorities[operation.getId()] = new SimpleGrantedAuthority(operation.getTag());
+            idByTag.put(operation.getTag(), operation.getId());
+            checksum.update((operation.getId() + ":" + operation.getTag() + ";").getBytes(StandardCharsets.UTF_8));
+            nextId = operation.getId() + 1;
+        }
+        prefixChecksums[maxId + 1] = checksum.getValue();
+
+        return new AuthorityDictionary(prefixChecksums, authorities, Map.copyOf(idByTag));
+    }
+
+    /**
+     * Encodes the operation authorities as {@code <version>.<base64url bitset>}. {@code ROLE_} authorities are
+     * skipped because the role travels in its own claim.
+     *
+     * @param authorities {@link GrantedAuthority} instances or the {@code {"authority": ...}} maps read back from
+     *                    an older token
+     * @return the encoded bitset, or {@code null} when an authority is not in this dictionary and the caller has to
+     * keep the plain list
+     */
+    public @Nullable String encode(@NotNull Collection<?> authorities) {
+        var bits = new byte[(this.authorityByOperationId.length + 7) / 8];
+        for (Object authority : authorities) {
+            var name = authorityName(authority);
+            if (name == null || name.startsWith(ROLE_PREFIX)) {
+                continue;
+            }
+
+            var operationId = this.operationIdByTag.get(name);
+            if (operationId == null) {
+                return null;
+            }
+            bits[operationId >>> 3] |= (byte) (1 << (operationId & 7));
+        }
+
+        return this.version + VERSION_SEPARATOR + BASE64_URL_ENCODER.encodeToString(trimTrailingZeros(bits));
+    }
+
+    /**
+     * Rebuilds the authorities of an encoded bitset plus the role authority.
+     *
+     * @return the shared authority instances, or {@code null} when an operation the value covers was renamed or
+     * deleted since it was encoded, or the value is malformed
+     */
+    public @Nullable List<GrantedAuthority> decode(@NotNull String encoded, @Nullable String role) {
+        var separator = encoded.indexOf(VERSION_SEPARATOR);
+        if (separator < 0 || !this.acceptsVersion(encoded.substring(0, separator))) {
+            return null;
+        }
+
+        byte[] bits;
+        try {
+            bits = BASE64_URL_DECODER.decode(encoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        int count = role != null ? 1 : 0;
+        for (byte word : bits) {
+            count += Integer.bitCount(word & 0xFF);
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(count);
+        for (int i = 0; i < bits.length; i++) {
+            int word = bits[i] & 0xFF;
+            while (word != 0) {
+                int operationId = (i << 3) + Integer.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (operationId >= this.authorityByOperationId.length
+                        || this.authorityByOperationId[operationId] == null) {
+                    return null;
+                }
+                authorities.add(this.authorityByOperationId[operationId]);
+            }
+        }
+
+        if (role != null) {
+            authorities.add(this.roleAuthority(role));
+        }
+        return authorities;
+    }
+
+    /**
+     * Returns the shared instance for an authority name, creating one only for names outside the dictionary.
+     */
+    public @NotNull GrantedAuthority authorityFor(@NotNull String name) {
+        if (name.startsWith(ROLE_PREFIX)) {
+            return this.roleAuthority(name.substring(ROLE_PREFIX.length()));
+        }
+
+        var operationId = this.operationIdByTag.get(name);
+        return operationId != null ? this.authorityByOperationId[operationId] : new SimpleGrantedAuthority(name);
+    }
+
+    public String version() {
+        return this.version;
+    }
+
+    public int size() {
+        return this.operationIdByTag.size();
+    }
+
+    private boolean acceptsVersion(@NotNull String version) {
+        var rangeSeparator = version.indexOf(RANGE_SEPARATOR);
+        if (rangeSeparator < 0) {
+            return false;
+        }
+
+        try {
+            int range = Integer.parseInt(version, 0, rangeSeparator, 36);
+            return range >= 0 && range < this.prefixChecksums.length
+                    && version.equals(versionFor(range, this.prefixChecksums[range]));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static @NotNull String versionFor(int range, long checksum) {
+        return Integer.toString(range, 36) + RANGE_SEPARATOR + Long.toString(checksum, 36);
+    }
+
+    private @NotNull GrantedAuthority roleAuthority(@NotNull String role) {
+        var authority = this.roleAuthorities.get(role);
+        if (authority == null) {
+            authority = this.roleAuthorities.computeIfAbsent(role,
+                    name -> new SimpleGrantedAuthority(ROLE_PREFIX + name));
+        }
+        return authority;
+    }
+
+    private static @Nullable String authorityName(Object authority) {
+        return switch (authority) {
+            case GrantedAuthority grantedAuthority -> grantedAuthority.getAuthority();
+            case Map<?, ?> map -> map.get("authority") instanceof String name ? name : null;
+            case String name -> name;
+            case null, default -> null;
+        };
+    }
+
+    private static byte @NotNull [] trimTrailingZeros(byte @NotNull [] bits) {
+        int length = bits.length;
+        while (length > 0 && bits[length - 1] == 0) {
+            length--;
+        }
+        return length == bits.length ? bits : Arrays.copyOf(bits, length);
+    }
+}
@@ -1,13 +1,16 @@
 package com.spacecodee.springbootsecurityopentemplate.security.authorization.manager;
 
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsOperationDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsPermissionDTO;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.details.JwtAuthenticationDetails;
 import com.spacecodee.springbootsecurityopentemplate.security.authentication.filter.LocaleResolverFilter;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.token.DeferredJwtAuthenticationToken;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.route.PublicRouteMatcher;
 import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
@@ -18,24 +21,21 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 @Component
 public class CustomAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
 
-    @Value("${app.api.context-path}")
-    private String contextPath;
-
-    @Value("#{'${swagger.paths}'.split(',')}")
-    private List<String> swaggerPaths;
-
     private final IOperationService operationService;
+    private final PublicRouteMatcher publicRouteMatcher;
     private final IUserDetailsService userService;
 
     private final Logger logger = Logger.getLogger(CustomAuthorizationManager.class.getName());
 
-    public CustomAuthorizationManager(IOperationService operationService, IUserDetailsService userService) {
+    public CustomAuthorizationManager(IOperationService operationService,
+            PublicRouteMatcher publicRouteMatcher,
+            IUserDetailsService userService) {
         this.operationService = operationService;
+        this.publicRouteMatcher = publicRouteMatcher;
         this.userService = userService;
     }
 
@@ -44,11 +44,15 @@ public class CustomAuthorizationManager implements AuthorizationManager<RequestA
             @NotNull RequestAuthorizationContext object) {
 
         HttpServletRequest request = object.getRequest();
-        var url = this.extractUrl(request);
-        var httpMethod = request.getMethod();
+
+        // Usually already resolved by the JWT filter, both checks below reuse the result
+        var operationIds = this.publicRouteMatcher.resolveOperationIds(request);
+        if (operationIds.length == 0) {
+            return new AuthorizationDecision(false);
+        }
 
         // First check if endpoint is public
-        if (isPublic(url, httpMethod)) {
+        if (this.operationService.isPublicOperation(operationIds)) {
             return new AuthorizationDecision(true);
         }
 
@@ -58,10 +62,10 @@ public class CustomAuthorizationManager implements AuthorizationManager<RequestA
             return new AuthorizationDecision(false);
         }
 
-        return new AuthorizationDecision(isGranted(auth, url, httpMethod));
+        return new AuthorizationDecision(isGranted(auth, operationIds));
     }
 
-    private boolean isGranted(Authentication authentication, String url, String httpMethod) {
+    private boolean isGranted(Authentication authentication, int[] operationIds) {
         if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
             logger.warning("Invalid authentication type");
             return false;
@@ -69,47 +73,33 @@ public class CustomAuthorizationManager implements AuthorizationManager<RequestA
 
         var operations = obtainOperations(authentication);
         return operations.stream()
-                .anyMatch(operation -> matches(operation, url, httpMethod));
+                .anyMatch(operation -> matches(operation, operationIds));
     }
 
     private List<UserDetailsOperationDTO> obtainOperations(Authentication authentication) {
         var authToken = (UsernamePasswordAuthenticationToken) authentication;
-        var username = authToken.getPrincipal().toString();
+        if (authToken instanceof DeferredJwtAuthenticationToken deferredToken) {
+            return toOperations(deferredToken.getUserDetails());
+        }
+
+        var username = authToken.getDetails() instanceof JwtAuthenticationDetails details
+                ? details.getVerifiedToken().subject()
+                : authToken.getPrincipal().toString();
         var locale = LocaleResolverFilter.getCurrentLocale();
-        var user = this.userService.findByUsername(locale, username);
+        return toOperations(this.userService.findByUsername(locale, username));
+    }
 
+    private List<UserDetailsOperationDTO> toOperations(@NotNull UserDetailsDTO user) {
         return user.getUserDetailsRoleDTO().getUserDetailsPermissionDTOList().stream()
                 .map(UserDetailsPermissionDTO::getOperationDTO).toList();
     }
 
-    private boolean isPublic(String url, String httpMethod) {
-        var publicOperations = operationService.findByPublicAccess();
-        return publicOperations.stream()
-                .anyMatch(operation -> matches(operation, url, httpMethod));
-    }
-
-    private boolean matches(@NotNull UserDetailsOperationDTO operation, String url, String httpMethod) {
-        var pattern = Pattern.compile(operation.getModuleDTO().getBasePath() + operation.getPath());
-        return pattern.matcher(url).matches() &&
-                operation.getHttpMethod().equalsIgnoreCase(httpMethod);
-    }
-
-    private @NotNull String extractUrl(@NotNull HttpServletRequest request) {
-        String url = request.getRequestURI();
-
-        // Skip context path processing for Swagger paths
-        if (isSwaggerUIPath(url)) {
-            return url;
+    private boolean matches(@NotNull UserDetailsOperationDTO operation, int @NotNull [] operationIds) {
+        for (int operationId : operationIds) {
+            if (operation.getId() == operationId) {
+                return true;
+            }
         }
-
-        if (url.startsWith(this.contextPath)) {
-            url = url.substring(this.contextPath.length());
-        }
-
-        return url;
-    }
-
-    private boolean isSwaggerUIPath(@NotNull String url) {
-        return swaggerPaths.stream().anyMatch(url::startsWith);
+        return false;
     }
-}
\ No newline at end of file
+}
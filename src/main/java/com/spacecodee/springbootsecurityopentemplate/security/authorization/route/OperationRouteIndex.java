@@ -0,0 +1,193 @@
+package com.spacecodee.springbootsecurityopentemplate.security.authorization.route;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable segment trie of every registered operation, keyed by HTTP method.
+ * <p>
+ * Each operation pattern ({@code basePath + path}) is split on {@code /}. The leading literal segments
+ * become trie nodes and the first segment holding a regex construct starts a remainder that is compiled
+ * once and attached to the last literal node. A pattern with a top-level alternation spans every segment,
+ * so it is kept whole at the root. A lookup walks the request URL segment by segment and only evaluates the
+ * precompiled remainders found along that single path.
+ */
+public final class OperationRouteIndex {
+
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
+    private static final int[] NO_MATCH = new int[0];
+
+    private final Map<String, Node> roots;
+    private final int size;
+
+    private OperationRouteIndex(Map<String, Node> roots, int size) {
+        this.roots = roots;
+        this.size = size;
+    }
+
+    public static @NotNull OperationRouteIndex empty() {
+        return new OperationRouteIndex(Map.of(), 0);
+    }
+
+    public static @NotNull OperationRouteIndex build(@NotNull List<OperationEntity> operations) {
+        Map<String, Node> roots = new HashMap<>();
+        for (OperationEntity operation : operations) {
+            var method = operation.getHttpMethod().toUpperCase(Locale.ROOT);
+            var path = operation.getPath() == null ? "" : operation.getPath();
+            var pattern = operation.getModuleEntity().getBasePath() + path;
+            roots.computeIfAbsent(method, key -> new Node()).insert(pattern, operation.getId());
+        }
+
+        roots.values().forEach(Node::freeze);
+        return new OperationRouteIndex(Map.copyOf(roots), operations.size());
+    }
+
+    /**
+     * Resolves the ids of all operations whose pattern matches the given method and URL.
+     *
+     * @param httpMethod the request method, compared case-insensitively
+     * @param url        the request URL without the servlet context path
+     * @return the matching operation ids, empty when no operation matches
+     */
+    public int[] resolve(@NotNull String httpMethod, @NotNull String url) {
+        var node = this.roots.get(httpMethod.toUpperCase(Locale.ROOT));
+        if (node == null) {
+            return NO_MATCH;
+        }
+
+        int[] matches = NO_MATCH;
+        int position = 0;
+        while (true) {
+            for (RemainderRoute route : node.remainders) {
+                if (route.pattern().matcher(url).region(position, url.length()).matches()) {
+                    matches = append(matches, route.operationId());
+                }
+            }
+
+            if (position == url.length()) {
+                for (int operationId : node.terminalIds) {
+                    matches = append(matches, operationId);
+                }
+                return matches;
+            }
+
+            if (url.charAt(position) != '/') {
+                return matches;
+            }
+
+            int next = url.indexOf('/', position + 1);
+            int end = next < 0 ? url.length() : next;
+            var child = node.children.get(url.substring(position + 1, end));
+            if (child == null) {
+                return matches;
+            }
+
+            node = child;
+            position = end;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static int[] append(int @NotNull [] values, int value) {
+        var result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static boolean isLiteral(@NotNull String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(segment.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the pattern holds a {@code |} outside any group, character class or quoted/escaped text. Such an
+     * alternation splits the whole pattern, so it cannot be matched relative to a literal prefix.
+     */
+    private static boolean hasTopLevelAlternation(@NotNull String pattern) {
+        int groupDepth = 0;
+        int classDepth = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char current = pattern.charAt(i);
+            if (current == '\\') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q') {
+                    int end = pattern.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                } else {
+                    i++;
+                }
+            } else if (current == '[') {
+                classDepth++;
+                // A ']' right after the opening bracket is a literal member of the class
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (current == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (current == '(') {
+                    groupDepth++;
+                } else if (current == ')' && groupDepth > 0) {
+                    groupDepth--;
+                } else if (current == '|' && groupDepth == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record RemainderRoute(Pattern pattern, int operationId) {
+    }
+
+    private static final class Node {
+        private Map<String, Node> children = new HashMap<>();
+        private List<RemainderRoute> remainders = new ArrayList<>();
+        private int[] terminalIds = NO_MATCH;
+
+        private void insert(@NotNull String pattern, int operationId) {
+            if (!pattern.startsWith("/") || hasTopLevelAlternation(pattern)) {
+                this.remainders.add(new RemainderRoute(Pattern.compile(pattern), operationId));
+                return;
+            }
+
+            var segments = pattern.substring(1).split("/", -1);
+            var node = this;
+            for (int i = 0; i < segments.length; i++) {
+                if (!isLiteral(segments[i])) {
+                    var remainder = "/" + String.join("/", Arrays.copyOfRange(segments, i, segments.length));
+                    node.remainders.add(new RemainderRoute(Pattern.compile(remainder), operationId));
+                    return;
+                }
+                node = node.children.computeIfAbsent(segments[i], key -> new Node());
+            }
+            node.terminalIds = append(node.terminalIds, operationId);
+        }
+
+        private void freeze() {
+            this.children.values().forEach(Node::freeze);
+            this.children = Map.copyOf(this.children);
+            this.remainders = List.copyOf(this.remainders);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.spacecodee.springbootsecurityopentemplate.security.authorization.route;
+
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Resolves the operations of a request once and tells whether it can be served without an authenticated user.
+ * <p>
+ * {@code JwtAuthenticationFilter} asks first to skip token handling on public routes, the authorization manager
+ * asks again later in the chain; the operation ids are kept as a request attribute so the route index is walked
+ * only once per request.
+ */
+@Component
+public class PublicRouteMatcher {
+
+    private static final String OPERATION_IDS_ATTRIBUTE = PublicRouteMatcher.class.getName() + ".OPERATION_IDS";
+
+    @Value("${app.api.context-path}")
+    private String contextPath;
+
+    @Value("#{'${swagger.paths}'.split(',')}")
+    private List<String> swaggerPaths;
+
+    private final IOperationRouteService operationRouteService;
+    private final IOperationService operationService;
+
+    public PublicRouteMatcher(IOperationRouteService operationRouteService, IOperationService operationService) {
+        this.operationRouteService = operationRouteService;
+        this.operationService = operationService;
+    }
+
+    /**
+     * True for swagger paths and for requests whose every matching operation is public.
+     */
+    public boolean isPublic(@NotNull HttpServletRequest request) {
+        if (this.isSwaggerUIPath(request.getRequestURI())) {
+            return true;
+        }
+
+        return this.operationService.isEveryOperationPublic(this.resolveOperationIds(request));
+    }
+
+    public int @NotNull [] resolveOperationIds(@NotNull HttpServletRequest request) {
+        if (request.getAttribute(OPERATION_IDS_ATTRIBUTE) instanceof int[] operationIds) {
+            return operationIds;
+        }
+
+        var operationIds = this.operationRouteService.resolveOperationIds(request.getMethod(),
+                this.extractUrl(request));
+        request.setAttribute(OPERATION_IDS_ATTRIBUTE, operationIds);
+        return operationIds;
+    }
+
+    private @NotNull String extractUrl(@NotNull HttpServletRequest request) {
+        String url = request.getRequestURI();
+
+        // Skip context path processing for Swagger paths
+        if (this.isSwaggerUIPath(url)) {
+            return url;
+        }
+
+        if (url.startsWith(this.contextPath)) {
+            url = url.substring(this.contextPath.length());
+        }
+
+        return url;
+    }
+
+    private boolean isSwaggerUIPath(@NotNull String url) {
+        return this.swaggerPaths.stream().anyMatch(url::startsWith);
+    }
+}
@@ -1,14 +1,61 @@
 package com.spacecodee.springbootsecurityopentemplate.security.config;
 
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.BoundedPasswordEncoder;
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.CalibratedBCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class PasswordEncoderConfig {
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    @Value("${security.password-hashing.threads}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.strength}")
+    private int strength;
+
+    @Value("${security.password-hashing.target-latency-in-ms}")
+    private long targetLatencyInMs;
+
+    @Value("${security.password-hashing.minimum-strength}")
+    private int minimumStrength;
+
+    @Value("${security.password-hashing.maximum-strength}")
+    private int maximumStrength;
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(ExceptionShortComponent exceptionShortComponent) {
+        // 0 sizes the pool to the CPUs, hashing is pure CPU work
+        int poolSize = this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(this.delegatingPasswordEncoder(), exceptionShortComponent, poolSize,
+                this.queueCapacity);
+    }
+
+    /**
+     * New hashes are written as {@code {bcrypt}$2a$<cost>$...}; hashes stored before the prefix existed are still
+     * read as BCrypt and reported for upgrade, like hashes of another cost.
+     */
+    private PasswordEncoder delegatingPasswordEncoder() {
+        // A fixed value keeps replicas on different hardware in agreement, 0 calibrates the cost on this machine
+        int bcryptStrength = this.strength > 0
+                ? this.strength
+                : CalibratedBCryptPasswordEncoder.calibrate(this.targetLatencyInMs, this.minimumStrength,
+                this.maximumStrength);
+        var bcrypt = new CalibratedBCryptPasswordEncoder(bcryptStrength);
+
+        var delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
-}
\ No newline at end of file
+}
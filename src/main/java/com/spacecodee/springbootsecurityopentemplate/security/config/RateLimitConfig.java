@@ -1,37 +1,48 @@
 package com.spacecodee.springbootsecurityopentemplate.security.config;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
-import com.google.common.cache.LoadingCache;
-
-import org.jetbrains.annotations.NotNull;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableScheduling
 public class RateLimitConfig {
+
+    @Bean
+    List<RateLimitRule> rateLimitRules(@Value("#{'${security.rate-limit.rules}'.split(',')}") List<String> rules) {
+        return rules.stream()
+                .filter(rule -> !rule.isBlank())
+                .map(RateLimitRule::parse)
+                .toList();
+    }
+
     @Bean
-    LoadingCache<String, Integer> requestCountsCache() {
+    Cache<String, TokenBucket> rateLimitBuckets(List<RateLimitRule> rateLimitRules,
+                                                @Value("${security.rate-limit.maximum-keys}") long maximumKeys) {
+        // A bucket left alone for its longest window is full again, dropping it loses nothing
+        var longestWindow = rateLimitRules.stream()
+                .map(RateLimitRule::window)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(15));
+
         return CacheBuilder.newBuilder()
-                .expireAfterWrite(15, TimeUnit.MINUTES)
+                .expireAfterAccess(longestWindow)
                 .recordStats()
-                .maximumSize(10000)
-                .build(new CacheLoader<>() {
-                    @Override
-                    @NotNull
-                    public Integer load(@NotNull String key) {
-                        return 0;
-                    }
-                });
+                .maximumSize(maximumKeys)
+                .build();
     }
 
     @Bean
-    CacheStats cacheStats(LoadingCache<String, Integer> cache) {
+    CacheStats cacheStats(Cache<String, TokenBucket> cache) {
         return cache.stats();
     }
 }
@@ -0,0 +1,81 @@
+package com.spacecodee.springbootsecurityopentemplate.security.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.ActiveTokenEntry;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenValidationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SecurityCacheConfig {
+
+    @Value("${security.cache.principal.ttl-in-seconds:300}")
+    private long principalTtlInSeconds;
+
+    @Value("${security.cache.principal.maximum-size:10000}")
+    private long principalMaximumSize;
+
+    @Value("${security.cache.token.maximum-size:50000}")
+    private long tokenMaximumSize;
+
+    @Value("${security.cache.token.ttl-in-seconds:5}")
+    private long tokenTtlInSeconds;
+
+    @Value("${security.jwt.refresh.grace-period-in-seconds:10}")
+    private long refreshGracePeriodInSeconds;
+
+    @Value("${security.jwt.access-token.expiration-in-minutes:5}")
+    private long accessTokenExpirationInMinutes;
+
+    @Bean
+    Cache<String, UserDetailsDTO> principalCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(this.principalTtlInSeconds, TimeUnit.SECONDS)
+                .maximumSize(this.principalMaximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Allowlist of active token digests. A logout only evicts the entry on the instance that served it, so entries
+     * live a few seconds: that bounds how long another replica keeps accepting a logged-out token. Each entry also
+     * carries the token's own {@code exp} so readers can ignore it as soon as the token expires.
+     */
+    @Bean
+    Cache<String, ActiveTokenEntry> activeTokenCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(this.tokenTtlInSeconds, TimeUnit.SECONDS)
+                .maximumSize(this.tokenMaximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Results of recent transparent refreshes keyed by the digest of the token they replaced, so requests that
+     * were already in flight with the old token receive the same new token instead of minting another one.
+     */
+    @Bean
+    Cache<String, TokenValidationResult> refreshedTokenCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(this.refreshGracePeriodInSeconds, TimeUnit.SECONDS)
+                .maximumSize(this.tokenMaximumSize)
+                .build();
+    }
+
+    /**
+     * Local mirror of {@code revoked_access_token}, the split-mode access tokens ended by logout. An entry only
+     * has to outlive the access token lifetime.
+     */
+    @Bean
+    Cache<String, Boolean> revokedAccessTokenCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(this.accessTokenExpirationInMinutes, TimeUnit.MINUTES)
+                .maximumSize(this.tokenMaximumSize)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.spacecodee.springbootsecurityopentemplate.security.crypto;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.PasswordHashingStats;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.filter.LocaleResolverFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing and verification of a delegate {@link PasswordEncoder} on a fixed pool of CPU-sized threads
+ * with a bounded queue.
+ * <p>
+ * BCrypt is deliberately slow; run on request threads, a burst of logins occupies every Tomcat thread and starves
+ * the other endpoints. Here at most {@code threads} hashes run at once and {@code queueCapacity} wait, anything
+ * beyond is refused at once with a 503 instead of queuing behind work that would time out anyway. The caller still
+ * waits for its own result, but the number of such callers is bounded by the same limits.
+ * <p>
+ * {@link #upgradeEncoding(String)} only reads the stored hash and stays on the calling thread.
+ */
+@Slf4j
+public final class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final PasswordEncoder delegate;
+    private final ExceptionShortComponent exceptionShortComponent;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maximumQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(@NotNull PasswordEncoder delegate,
+                                  @NotNull ExceptionShortComponent exceptionShortComponent,
+                                  int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Password hashing needs at least one thread and one queue slot");
+        }
+
+        this.delegate = delegate;
+        this.exceptionShortComponent = exceptionShortComponent;
+        this.queueCapacity = queueCapacity;
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.run(() -> this.delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.run(() -> this.delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public @NotNull PasswordHashingStats getStats() {
+        long count = this.completed.sum();
+        return new PasswordHashingStats(
+                this.executor.getCorePoolSize(),
+                this.executor.getQueue().size(),
+                this.queueCapacity,
+                count,
+                this.rejected.sum(),
+                count == 0 ? 0 : this.queueWaitNanos.sum() / NANOS_PER_MILLI / count,
+                count == 0 ? 0 : this.hashNanos.sum() / NANOS_PER_MILLI / count,
+                this.maximumQueueWaitNanos.get() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Called by the container on shutdown, a hash still running is interrupted.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private <T> T run(@NotNull Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = this.executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                this.queueWaitNanos.add(startedAt - submittedAt);
+                this.maximumQueueWaitNanos.accumulate(startedAt - submittedAt);
+                try {
+                    return hashing.get();
+                } finally {
+                    this.hashNanos.add(System.nanoTime() - startedAt);
+                    this.completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            log.warn("Password hashing queue is full, {} tasks waiting", this.executor.getQueue().size());
+            throw this.busy();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw this.busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private @NotNull RuntimeException busy() {
+        // Called on the request thread, where the locale filter has already run
+        return this.exceptionShortComponent.passwordHashingBusyException("error.password.hashing.busy",
+                LocaleResolverFilter.getCurrentLocale());
+    }
+}
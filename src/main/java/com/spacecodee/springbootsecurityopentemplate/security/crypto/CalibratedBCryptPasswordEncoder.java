@@ -0,0 +1,78 @@
+package com.spacecodee.springbootsecurityopentemplate.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt at a configured or calibrated cost, asking for a rehash of any stored hash made at a lower cost.
+ * <p>
+ * A hash is never rehashed to a lower cost: replicas calibrated on different hardware would otherwise rewrite
+ * each other's hashes on every login, and a slower node would weaken every password it sees.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    public static final int MINIMUM_STRENGTH = 4;
+    public static final int MAXIMUM_STRENGTH = 31;
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    // Cheap enough to time quickly, slow enough to dominate the timer noise
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_RUNS = 3;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Highest cost whose hash time stays within the target on this machine. The time of a probe hash is measured
+     * and doubled per extra cost step, which is how BCrypt scales.
+     */
+    public static int calibrate(long targetLatencyInMs, int minimumStrength, int maximumStrength) {
+        if (minimumStrength < MINIMUM_STRENGTH || maximumStrength > MAXIMUM_STRENGTH
+                || minimumStrength > maximumStrength) {
+            throw new IllegalArgumentException("BCrypt strength bounds must lie within "
+                    + MINIMUM_STRENGTH + " and " + MAXIMUM_STRENGTH);
+        }
+
+        var probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        // The first hash pays for class loading and JIT warm-up
+        probe.encode("calibration");
+        long probeNanos = Long.MAX_VALUE;
+        for (int run = 0; run < PROBE_RUNS; run++) {
+            long startedAt = System.nanoTime();
+            probe.encode("calibration");
+            probeNanos = Math.min(probeNanos, System.nanoTime() - startedAt);
+        }
+
+        double probeMs = probeNanos / 1_000_000.0;
+        int strength = minimumStrength;
+        while (strength < maximumStrength
+                && probeMs * Math.pow(2, strength + 1 - PROBE_STRENGTH) <= targetLatencyInMs) {
+            strength++;
+        }
+
+        log.info("BCrypt strength calibrated to {} (about {} ms per hash, target {} ms)", strength,
+                Math.round(probeMs * Math.pow(2, strength - PROBE_STRENGTH)), targetLatencyInMs);
+        return strength;
+    }
+
+    public int getStrength() {
+        return this.strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        var matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < this.strength;
+    }
+}
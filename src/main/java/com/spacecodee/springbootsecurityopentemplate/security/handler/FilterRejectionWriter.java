@@ -0,0 +1,153 @@
+package com.spacecodee.springbootsecurityopentemplate.security.handler;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.spacecodee.springbootsecurityopentemplate.data.record.FilterRejectStats;
+import com.spacecodee.springbootsecurityopentemplate.enums.FilterRejectReasonEnum;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.RateLimitExceededException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenInvalidException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenNotFoundException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.base.BaseException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.validation.InvalidParameterException;
+import com.spacecodee.springbootsecurityopentemplate.language.MessageUtilComponent;
+import com.spacecodee.springbootsecurityopentemplate.language.constant.LanguageConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes the 401 and 429 responses of the security filters directly, without throwing through the chain.
+ * <p>
+ * An exception thrown from a filter never reaches {@code GlobalExceptionHandler}, it goes to the container error
+ * dispatch instead, which is the most expensive way to answer a request that is rejected on purpose. The body has
+ * the {@code ApiErrorPojo} layout; everything except the timestamp, path and method is rendered once per message
+ * key and language and reused, so a rejection costs a map lookup and a few byte copies.
+ */
+@Component
+@RequiredArgsConstructor
+public class FilterRejectionWriter {
+
+    private static final String RATE_LIMIT_MESSAGE_KEY = "error.auth.rate.limit.exceeded";
+    private static final String BODY_TOO_LARGE_MESSAGE_KEY = "error.request.body.too.large";
+    private static final String BODY_INVALID_MESSAGE_KEY = "error.request.body.invalid";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] TIMESTAMP_FIELD = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] METHOD_FIELD = "\",\"method\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final MessageUtilComponent messageUtilComponent;
+
+    // Keyed by reason, message key and language; languages are limited to the supported ones so this stays small
+    private final Map<String, byte[]> bodyMiddles = new ConcurrentHashMap<>();
+    private final Map<FilterRejectReasonEnum, LongAdder> rejectCounters = newCounters();
+
+    /**
+     * Rejects with the reason and message of an exception raised while checking the token.
+     */
+    public void reject(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                       @NotNull BaseException exception, String locale) throws IOException {
+        this.reject(request, response, reasonOf(exception), exception.getMessageKey(),
+                exception.getClass().getSimpleName(), locale);
+    }
+
+    public void rejectRateLimited(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                                  String locale) throws IOException {
+        this.reject(request, response, FilterRejectReasonEnum.RATE_LIMITED, RATE_LIMIT_MESSAGE_KEY,
+                RateLimitExceededException.class.getSimpleName(), locale);
+    }
+
+    /**
+     * Rejects a body the rate limit filter has to read but cannot, {@link FilterRejectReasonEnum#BODY_TOO_LARGE}
+     * or {@link FilterRejectReasonEnum#BODY_INVALID}.
+     */
+    public void rejectBody(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                           @NotNull FilterRejectReasonEnum reason, String locale) throws IOException {
+        var messageKey = reason == FilterRejectReasonEnum.BODY_TOO_LARGE
+                ? BODY_TOO_LARGE_MESSAGE_KEY
+                : BODY_INVALID_MESSAGE_KEY;
+        this.reject(request, response, reason, messageKey, InvalidParameterException.class.getSimpleName(), locale);
+    }
+
+    public @NotNull FilterRejectStats getStats() {
+        Map<FilterRejectReasonEnum, Long> rejections = new EnumMap<>(FilterRejectReasonEnum.class);
+        long total = 0;
+        for (var counter : this.rejectCounters.entrySet()) {
+            long count = counter.getValue().sum();
+            rejections.put(counter.getKey(), count);
+            total += count;
+        }
+        return new FilterRejectStats(rejections, total);
+    }
+
+    private void reject(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                        @NotNull FilterRejectReasonEnum reason, @NotNull String messageKey,
+                        @NotNull String exceptionName, String locale) throws IOException {
+        this.rejectCounters.get(reason).increment();
+
+        var language = Locale.forLanguageTag(locale != null ? locale : LanguageConstants.DEFAULT_LOCALE)
+                .getLanguage();
+        var middle = this.bodyMiddles.computeIfAbsent(reason.name() + ':' + messageKey + ':' + language,
+                key -> this.renderBodyMiddle(exceptionName, messageKey, language));
+
+        var body = new ByteArrayOutputStream(middle.length + 96);
+        body.writeBytes(TIMESTAMP_FIELD);
+        body.writeBytes(LocalDateTime.now().format(TIMESTAMP_FORMAT).getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(middle);
+        body.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI()));
+        body.writeBytes(METHOD_FIELD);
+        body.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(request.getMethod()));
+        body.writeBytes(BODY_END);
+
+        response.setStatus(reason.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+    }
+
+    /**
+     * Everything between the timestamp value and the path value, the path is left open for the caller.
+     */
+    private byte @NotNull [] renderBodyMiddle(@NotNull String exceptionName, @NotNull String messageKey,
+                                              @NotNull String language) {
+        var backendMessage = String.format("Exception: %s, Key: %s, Locale: %s", exceptionName, messageKey,
+                language);
+        var message = this.messageUtilComponent.getMessage(messageKey, language);
+
+        var encoder = JsonStringEncoder.getInstance();
+        return ("\",\"backendMessage\":\"" + new String(encoder.quoteAsString(backendMessage))
+                + "\",\"message\":\"" + new String(encoder.quoteAsString(message))
+                + "\",\"path\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static @NotNull FilterRejectReasonEnum reasonOf(@NotNull BaseException exception) {
+        return switch (exception) {
+            case RateLimitExceededException ignored -> FilterRejectReasonEnum.RATE_LIMITED;
+            case TokenExpiredException ignored -> FilterRejectReasonEnum.TOKEN_EXPIRED;
+            case TokenInvalidException ignored -> FilterRejectReasonEnum.TOKEN_INVALID;
+            case TokenNotFoundException ignored -> FilterRejectReasonEnum.TOKEN_NOT_FOUND;
+            default -> FilterRejectReasonEnum.TOKEN_UNEXPECTED;
+        };
+    }
+
+    private static @NotNull Map<FilterRejectReasonEnum, LongAdder> newCounters() {
+        Map<FilterRejectReasonEnum, LongAdder> counters = new EnumMap<>(FilterRejectReasonEnum.class);
+        for (FilterRejectReasonEnum reason : FilterRejectReasonEnum.values()) {
+            counters.put(reason, new LongAdder());
+        }
+        return counters;
+    }
+}
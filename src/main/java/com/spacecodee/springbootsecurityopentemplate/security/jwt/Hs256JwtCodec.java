@@ -0,0 +1,288 @@
+package com.spacecodee.springbootsecurityopentemplate.security.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact HS256 JWS encoder and decoder for the tokens this service issues.
+ * <p>
+ * The header never changes, so its Base64URL segment is built once and compared by region on the way in; only a
+ * foreign header is decoded and checked. Each thread keeps an initialised {@link Mac}, claims are written and read
+ * with the Jackson streaming API instead of a data-binding {@code ObjectMapper}, and signatures are compared in
+ * constant time. Tokens stay byte compatible with jjwt in both directions.
+ * <p>
+ * Failures are reported with the jjwt exception types so callers keep catching {@link io.jsonwebtoken.JwtException}.
+ */
+public final class Hs256JwtCodec {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String JWS_ALGORITHM = "HS256";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER_SEGMENT = BASE64_URL_ENCODER.encodeToString(
+            ("{\"alg\":\"" + JWS_ALGORITHM + "\",\"typ\":\"JWT\"}").getBytes(StandardCharsets.US_ASCII));
+
+    private final SecretKey key;
+    private final ThreadLocal<Mac> macs;
+
+    public Hs256JwtCodec(@NotNull SecretKey key) {
+        this.key = key;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        // Fail on an unusable key now rather than on the first request
+        this.newMac();
+    }
+
+    /**
+     * Serialises and signs the given claims. {@code null} values are skipped, dates are written as epoch seconds
+     * and granted authorities as {@code {"authority": ...}} objects, like jjwt does.
+     */
+    public @NotNull String encode(@NotNull Map<String, ?> claims) {
+        var payload = BASE64_URL_ENCODER.encodeToString(writeClaims(claims));
+        var signingInput = HEADER_SEGMENT + '.' + payload;
+
+        var mac = this.macs.get();
+        var signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64_URL_ENCODER.encodeToString(signature);
+    }
+
+    /**
+     * Checks the header and signature and returns the decoded claims. Expiration is not checked here, the caller
+     * decides what an expired token means.
+     *
+     * @throws MalformedJwtException   when the token is not a three segment JWS with a JSON object payload
+     * @throws UnsupportedJwtException when the header asks for anything other than plain HS256
+     * @throws SignatureException      when the signature was not produced with this codec's key
+     */
+    public @NotNull Map<String, Object> decode(@NotNull String jwt) {
+        var ascii = jwt.getBytes(StandardCharsets.US_ASCII);
+        var segments = Segments.of(ascii);
+        requireSupportedHeader(jwt, ascii, segments);
+
+        var mac = this.macs.get();
+        mac.update(ascii, 0, segments.secondDot());
+        var expected = mac.doFinal();
+        var actual = decodeSegment(ascii, segments.secondDot() + 1, ascii.length);
+        if (!MessageDigest.isEqual(expected, actual.array())) {
+            throw new SignatureException("JWT signature does not match locally computed signature");
+        }
+
+        return readClaims(decodeSegment(ascii, segments.firstDot() + 1, segments.secondDot()));
+    }
+
+    /**
+     * Decodes the claims without checking the header or the signature. Only for tokens whose signature was
+     * already verified or whose content is not trusted.
+     */
+    public static @NotNull Map<String, Object> decodeUnverified(@NotNull String jwt) {
+        var ascii = jwt.getBytes(StandardCharsets.US_ASCII);
+        var segments = Segments.of(ascii);
+        return readClaims(decodeSegment(ascii, segments.firstDot() + 1, segments.secondDot()));
+    }
+
+    private @NotNull Mac newMac() {
+        try {
+            var mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(this.key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HS256 is not available for the configured key", e);
+        }
+    }
+
+    private static void requireSupportedHeader(@NotNull String jwt, byte @NotNull [] ascii,
+                                               @NotNull Segments segments) {
+        if (segments.firstDot() == HEADER_SEGMENT.length() && jwt.startsWith(HEADER_SEGMENT)) {
+            return;
+        }
+
+        // Tokens signed elsewhere (or by jjwt before this codec) may order or extend the header differently
+        var header = readClaims(decodeSegment(ascii, 0, segments.firstDot()));
+        if (!JWS_ALGORITHM.equals(header.get("alg"))) {
+            throw new UnsupportedJwtException("Unsupported JWS algorithm: " + header.get("alg"));
+        }
+        if (header.containsKey("crit") || header.containsKey("zip")) {
+            throw new UnsupportedJwtException("Critical or compressed JWS headers are not supported");
+        }
+    }
+
+    private static @NotNull ByteBuffer decodeSegment(byte @NotNull [] ascii, int from, int to) {
+        try {
+            var decoded = BASE64_URL_DECODER.decode(ByteBuffer.wrap(ascii, from, to - from));
+            // Heap buffers from the decoder start at offset zero and are sized exactly
+            return decoded.remaining() == decoded.capacity() ? decoded : ByteBuffer.wrap(toArray(decoded));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT segment is not valid Base64URL", e);
+        }
+    }
+
+    private static byte @NotNull [] toArray(@NotNull ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static @NotNull Map<String, Object> readClaims(@NotNull ByteBuffer json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json.array(), 0, json.remaining())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT segment is not a JSON object");
+            }
+
+            var claims = readObject(parser);
+            if (parser.nextToken() != null) {
+                throw new MalformedJwtException("Unexpected content after the JWT JSON object");
+            }
+            return claims;
+        } catch (IOException e) {
+            throw new MalformedJwtException("JWT segment is not valid JSON", e);
+        }
+    }
+
+    private static @NotNull Map<String, Object> readObject(@NotNull JsonParser parser) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        // Field names are canonicalised by the factory, repeated claim names share one String instance
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.currentName();
+            parser.nextToken();
+            values.put(name, readValue(parser));
+        }
+        return values;
+    }
+
+    private static Object readValue(@NotNull JsonParser parser) throws IOException {
+        var token = parser.currentToken();
+        if (token == null) {
+            throw new MalformedJwtException("Truncated JWT JSON");
+        }
+
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case START_OBJECT -> readObject(parser);
+            case START_ARRAY -> {
+                List<Object> values = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(readValue(parser));
+                }
+                yield values;
+            }
+            default -> throw new MalformedJwtException("Unexpected JSON token in JWT: " + token);
+        };
+    }
+
+    private static byte @NotNull [] writeClaims(@NotNull Map<String, ?> claims) {
+        var out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            for (var claim : claims.entrySet()) {
+                if (claim.getValue() != null) {
+                    generator.writeFieldName(claim.getKey());
+                    writeValue(generator, claim.getValue());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialise JWT claims", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(@NotNull JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String text -> generator.writeString(text);
+            case Integer number -> generator.writeNumber(number);
+            case Long number -> generator.writeNumber(number);
+            case BigInteger number -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case Double number -> generator.writeNumber(number);
+            case Float number -> generator.writeNumber(number);
+            case Number number -> generator.writeNumber(number.longValue());
+            case Boolean flag -> generator.writeBoolean(flag);
+            case Date date -> generator.writeNumber(date.getTime() / 1000);
+            case Instant instant -> generator.writeNumber(instant.getEpochSecond());
+            case Enum<?> constant -> generator.writeString(constant.name());
+            case GrantedAuthority authority -> {
+                generator.writeStartObject();
+                generator.writeStringField("authority", authority.getAuthority());
+                generator.writeEndObject();
+            }
+            case Map<?, ?> map -> {
+                generator.writeStartObject();
+                for (var entry : map.entrySet()) {
+                    generator.writeFieldName(String.valueOf(entry.getKey()));
+                    writeValue(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case Collection<?> collection -> {
+                generator.writeStartArray();
+                for (Object element : collection) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            }
+            case Object[] array -> {
+                generator.writeStartArray();
+                for (Object element : array) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            }
+            default -> generator.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Positions of the two separators of a compact JWS.
+     */
+    private record Segments(int firstDot, int secondDot) {
+
+        static @NotNull Segments of(byte @NotNull [] ascii) {
+            int first = indexOfDot(ascii, 0);
+            int second = first < 0 ? -1 : indexOfDot(ascii, first + 1);
+            if (first <= 0 || second < 0 || indexOfDot(ascii, second + 1) >= 0) {
+                throw new MalformedJwtException("JWT strings must contain exactly 2 period characters");
+            }
+            return new Segments(first, second);
+        }
+
+        private static int indexOfDot(byte @NotNull [] ascii, int from) {
+            for (int i = from; i < ascii.length; i++) {
+                if (ascii[i] == '.') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
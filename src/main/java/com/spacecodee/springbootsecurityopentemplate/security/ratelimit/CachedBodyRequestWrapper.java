@@ -0,0 +1,131 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a small JSON body once so the rate limit filter can look at a field and the controller still gets the
+ * whole body.
+ */
+public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
+
+    // Jackson databind keeps the last of repeated fields, so a body repeating one is refused rather than keyed on
+    // a value the controller never sees
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+
+    private final byte[] body;
+    private final boolean oversized;
+
+    private CachedBodyRequestWrapper(HttpServletRequest request, byte[] body, boolean oversized) {
+        super(request);
+        this.body = body;
+        this.oversized = oversized;
+    }
+
+    /**
+     * Buffers at most {@code maximumBytes} of the body, whatever length and type the request declares; a chunked
+     * or padded body must not hide the fields the caller keys on.
+     *
+     * @return the wrapper; when the body is longer than {@code maximumBytes} it is {@link #isOversized()} and the
+     * request cannot be passed on
+     */
+    public static @NotNull CachedBodyRequestWrapper wrap(@NotNull HttpServletRequest request, int maximumBytes)
+            throws IOException {
+        long declared = request.getContentLengthLong();
+        if (declared > maximumBytes) {
+            return new CachedBodyRequestWrapper(request, new byte[0], true);
+        }
+
+        var body = request.getInputStream().readNBytes(maximumBytes + 1);
+        return body.length > maximumBytes
+                ? new CachedBodyRequestWrapper(request, new byte[0], true)
+                : new CachedBodyRequestWrapper(request, body, false);
+    }
+
+    public boolean isOversized() {
+        return this.oversized;
+    }
+
+    /**
+     * Returns a top level string field of the body, or {@code null} when it is missing, the body is not JSON or it
+     * repeats a field. The whole object is read so a repeat after the wanted field is caught too.
+     */
+    public @Nullable String readStringField(@NotNull String name) {
+        try (JsonParser parser = JSON_FACTORY.createParser(this.body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            String found = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var value = parser.nextToken();
+                if (name.equals(field) && value == JsonToken.VALUE_STRING) {
+                    found = parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return parser.currentToken() == JsonToken.END_OBJECT ? found : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        var input = new ByteArrayInputStream(this.body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // The whole body is already in memory
+                try {
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte @NotNull [] buffer, int offset, int length) {
+                return input.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        var encoding = this.getCharacterEncoding();
+        var charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), charset));
+    }
+}
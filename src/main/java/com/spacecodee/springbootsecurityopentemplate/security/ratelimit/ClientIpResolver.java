@@ -0,0 +1,127 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.google.common.net.InetAddresses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolves the client address of a request, reading {@code X-Forwarded-For} only through trusted proxies.
+ * <p>
+ * The header is written by whoever sends the request, so its first hop is whatever the client wants it to be.
+ * When the connection comes from a trusted proxy the hops are walked from the right, where each proxy appended
+ * the address it saw, and the first address that is not a trusted proxy is the client. Connections from anywhere
+ * else are identified by their remote address and the header is ignored.
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientIpResolver(@Value("#{'${security.rate-limit.trusted-proxies}'.split(',')}") List<String> proxies) {
+        this.trustedProxies = proxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    /**
+     * @return the client address, or {@code null} when the remote address is not an IP literal
+     */
+    public @Nullable InetAddress resolve(@NotNull HttpServletRequest request) {
+        var client = parseAddress(request.getRemoteAddr());
+        if (client == null || !this.isTrustedProxy(client)) {
+            return client;
+        }
+
+        List<String> hops = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders(FORWARDED_FOR_HEADER))) {
+            hops.addAll(List.of(header.split(",")));
+        }
+
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            var hop = parseAddress(hops.get(i).trim());
+            if (hop == null) {
+                // Anything left of a malformed hop was not written by a trusted proxy
+                return client;
+            }
+
+            client = hop;
+            if (!this.isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(@NotNull InetAddress address) {
+        for (AddressRange range : this.trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @Nullable InetAddress parseAddress(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+
+        var literal = value.startsWith("[") && value.endsWith("]") ? value.substring(1, value.length() - 1) : value;
+        // Only literals are accepted, a host name here must never trigger a DNS lookup
+        return InetAddresses.isInetAddress(literal) ? InetAddresses.forString(literal) : null;
+    }
+
+    /**
+     * An address or a CIDR block such as {@code 10.0.0.0/8} or {@code fd00::/8}.
+     */
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static @NotNull AddressRange parse(@NotNull String cidr) {
+            var separator = cidr.indexOf('/');
+            var address = parseAddress(separator < 0 ? cidr : cidr.substring(0, separator));
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy: " + cidr);
+            }
+
+            var network = address.getAddress();
+            int prefixLength = separator < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(separator + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length in trusted proxy: " + cidr);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(@NotNull InetAddress address) {
+            var bytes = address.getAddress();
+            if (bytes.length != this.network.length) {
+                return false;
+            }
+
+            int fullBytes = this.prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != this.network[i]) {
+                    return false;
+                }
+            }
+
+            int remainingBits = this.prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits) & 0xFF;
+            return (bytes[fullBytes] & mask) == (this.network[fullBytes] & mask);
+        }
+    }
+}
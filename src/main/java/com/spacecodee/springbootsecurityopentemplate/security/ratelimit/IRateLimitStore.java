@@ -0,0 +1,22 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+
+/**
+ * Where the token buckets of the rate limit rules live. {@code security.rate-limit.store} picks the
+ * implementation: {@code local} keeps them in this process, {@code postgres} shares them between replicas.
+ */
+public interface IRateLimitStore {
+
+    /**
+     * Takes one token from the bucket the rule assigns to this request.
+     *
+     * @return the decision, or {@code null} when the request lacks what the rule is keyed by
+     */
+    @Nullable RateLimitDecision tryAcquire(@NotNull RateLimitRule rule, @Nullable InetAddress clientIp,
+                                           @Nullable String username);
+}
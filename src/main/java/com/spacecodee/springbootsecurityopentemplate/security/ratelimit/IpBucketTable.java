@@ -0,0 +1,135 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetAddress;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of {@link TokenBucket} arrival times keyed by client address, for the IP scoped rules.
+ * <p>
+ * Every slot is two longs in primitive arrays: a 64-bit fingerprint of the address and the bucket's theoretical
+ * arrival time, 16 bytes per source instead of a few hundred for a string keyed cache entry, so a million sources
+ * take 16 MB and the table never grows. The fingerprint is seeded per process, so colliding addresses cannot be
+ * chosen from outside. IPv4 addresses are used whole, IPv6 addresses are cut to a prefix because a single client
+ * usually owns a whole /64.
+ * <p>
+ * The table is 8-way set associative. A new address replaces the slot of its set whose arrival time is the
+ * earliest: a bucket whose arrival time has passed is full and forgetting it loses nothing, and a flood of new
+ * addresses each a single request old is evicted before a source that is actually being held back, so spoofed
+ * traffic pushes out itself rather than real attackers' counters. Lookups and updates are plain reads and
+ * {@code compareAndSet}s, no lock is taken.
+ */
+public final class IpBucketTable {
+
+    private static final int WAYS = 8;
+    private static final long EMPTY = 0L;
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFF_0000_0000L;
+
+    private final AtomicLongArray fingerprints;
+    private final AtomicLongArray arrivals;
+    private final int setMask;
+    private final long highMask;
+    private final long lowMask;
+    private final long seed;
+
+    /**
+     * @param slots            capacity, rounded down to a power of two of at least {@value #WAYS}
+     * @param ipv6PrefixLength leading bits of an IPv6 address that identify a client
+     */
+    public IpBucketTable(int slots, int ipv6PrefixLength) {
+        if (ipv6PrefixLength < 1 || ipv6PrefixLength > 128) {
+            throw new IllegalArgumentException("IPv6 prefix length must be between 1 and 128");
+        }
+
+        int sets = Integer.highestOneBit(Math.max(slots / WAYS, 1));
+        this.fingerprints = new AtomicLongArray(sets * WAYS);
+        this.arrivals = new AtomicLongArray(sets * WAYS);
+        this.setMask = sets - 1;
+        this.highMask = prefixMask(Math.min(ipv6PrefixLength, 64));
+        this.lowMask = prefixMask(Math.max(ipv6PrefixLength - 64, 0));
+        this.seed = new SecureRandom().nextLong();
+    }
+
+    public @NotNull RateLimitDecision tryAcquire(@NotNull InetAddress address, @NotNull RateLimitRule rule,
+                                                 long nowInNanos) {
+        long fingerprint = this.fingerprint(address.getAddress());
+        int base = ((int) fingerprint & this.setMask) * WAYS;
+
+        while (true) {
+            int victim = base;
+            long victimFingerprint = this.fingerprints.get(base);
+            long victimArrival = this.arrivals.get(base);
+
+            for (int slot = base; slot < base + WAYS; slot++) {
+                long current = this.fingerprints.get(slot);
+                if (current == fingerprint) {
+                    return TokenBucket.tryAcquire(this.arrivals, slot, rule, nowInNanos);
+                }
+
+                long arrival = this.arrivals.get(slot);
+                if (victimFingerprint != EMPTY && (current == EMPTY || arrival - victimArrival < 0)) {
+                    victim = slot;
+                    victimFingerprint = current;
+                    victimArrival = arrival;
+                }
+            }
+
+            if (this.fingerprints.compareAndSet(victim, victimFingerprint, fingerprint)) {
+                // A request that matched the new fingerprint in between already moved the arrival time, keep it
+                this.arrivals.compareAndSet(victim, victimArrival, nowInNanos);
+                return TokenBucket.tryAcquire(this.arrivals, victim, rule, nowInNanos);
+            }
+            // Another address took the slot first, look at the set again
+        }
+    }
+
+    public int capacity() {
+        return this.fingerprints.length();
+    }
+
+    private long fingerprint(byte @NotNull [] address) {
+        long high;
+        long low;
+        if (address.length == 4) {
+            high = 0;
+            low = IPV4_MAPPED_PREFIX | (readInt(address) & 0xFFFF_FFFFL);
+        } else {
+            high = readLong(address, 0) & this.highMask;
+            low = readLong(address, 8) & this.lowMask;
+        }
+
+        long fingerprint = mix(mix(high ^ this.seed) ^ low);
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+
+    private static long prefixMask(int bits) {
+        return bits == 0 ? 0 : -1L << (64 - bits);
+    }
+
+    private static int readInt(byte @NotNull [] bytes) {
+        return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+    }
+
+    private static long readLong(byte @NotNull [] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = value << 8 | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * MurmurHash3 finaliser, a bijective mix of all 64 bits.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
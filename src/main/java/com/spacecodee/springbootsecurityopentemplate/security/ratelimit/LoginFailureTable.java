@@ -0,0 +1,165 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of recent login failures keyed by username, with the lock each failure count earns.
+ * <p>
+ * Laid out like {@link IpBucketTable}: 8-way set associative, a 64-bit fingerprint and one state word per slot,
+ * 16 bytes per username. The fingerprint is a SipHash with a per-process key, so usernames colliding on a slot
+ * cannot be picked from outside. The state packs the failure count in its top 16 bits and the time of the last
+ * failure, in epoch milliseconds, in the low 48; the lock is derived from both: nothing below the threshold,
+ * then {@code initialLock}, doubling with every further failure up to {@code maximumLock}. Failures older than
+ * {@code resetAfter} are forgotten. A new username evicts the slot of its set whose last failure is the oldest.
+ */
+public final class LoginFailureTable {
+
+    private static final int WAYS = 8;
+    private static final long EMPTY = 0L;
+    private static final int FAILURES_SHIFT = 48;
+    private static final long TIME_MASK = (1L << FAILURES_SHIFT) - 1;
+    private static final long MAX_FAILURES = 0xFFFF;
+
+    private final AtomicLongArray fingerprints;
+    private final AtomicLongArray states;
+    private final int setMask;
+    private final HashFunction fingerprintFunction;
+    private final int threshold;
+    private final long initialLockInMs;
+    private final long maximumLockInMs;
+    private final long resetAfterInMs;
+
+    /**
+     * @param slots     capacity, rounded down to a power of two of at least {@value #WAYS}
+     * @param threshold failures that start the first lock
+     */
+    public LoginFailureTable(int slots, int threshold, long initialLockInMs, long maximumLockInMs,
+                             long resetAfterInMs) {
+        if (threshold < 1 || initialLockInMs < 1 || maximumLockInMs < initialLockInMs) {
+            throw new IllegalArgumentException("Login lockout needs a positive threshold and initial lock, "
+                    + "and a maximum lock of at least the initial one");
+        }
+
+        int sets = Integer.highestOneBit(Math.max(slots / WAYS, 1));
+        this.fingerprints = new AtomicLongArray(sets * WAYS);
+        this.states = new AtomicLongArray(sets * WAYS);
+        this.setMask = sets - 1;
+        var random = new SecureRandom();
+        this.fingerprintFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+        this.threshold = threshold;
+        this.initialLockInMs = initialLockInMs;
+        this.maximumLockInMs = maximumLockInMs;
+        // A lock must not outlive the failures it was computed from
+        this.resetAfterInMs = Math.max(resetAfterInMs, maximumLockInMs);
+    }
+
+    /**
+     * @return milliseconds until the username may try again, {@code 0} when it is not locked
+     */
+    public long lockedForMillis(@NotNull String username, long nowInMs) {
+        int slot = this.find(this.fingerprint(username));
+        return slot < 0 ? 0 : this.remainingLock(this.states.get(slot), nowInMs);
+    }
+
+    /**
+     * Counts a failed attempt.
+     *
+     * @return milliseconds the username is now locked for, {@code 0} while still under the threshold
+     */
+    public long recordFailure(@NotNull String username, long nowInMs) {
+        long fingerprint = this.fingerprint(username);
+        while (true) {
+            int slot = this.findOrClaim(fingerprint);
+            long state = this.states.get(slot);
+            long failures = this.isLive(state, nowInMs) ? state >>> FAILURES_SHIFT : 0;
+            long next = Math.min(failures + 1, MAX_FAILURES) << FAILURES_SHIFT | (nowInMs & TIME_MASK);
+            if (this.fingerprints.get(slot) == fingerprint && this.states.compareAndSet(slot, state, next)) {
+                return this.remainingLock(next, nowInMs);
+            }
+        }
+    }
+
+    /**
+     * Forgets the failures of a username after it logged in.
+     */
+    public void recordSuccess(@NotNull String username) {
+        int slot = this.find(this.fingerprint(username));
+        if (slot >= 0) {
+            this.states.set(slot, EMPTY);
+        }
+    }
+
+    public int capacity() {
+        return this.fingerprints.length();
+    }
+
+    private int find(long fingerprint) {
+        int base = ((int) fingerprint & this.setMask) * WAYS;
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (this.fingerprints.get(slot) == fingerprint) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrClaim(long fingerprint) {
+        int base = ((int) fingerprint & this.setMask) * WAYS;
+        while (true) {
+            int victim = base;
+            long victimFingerprint = this.fingerprints.get(base);
+            long victimTime = this.states.get(base) & TIME_MASK;
+
+            for (int slot = base; slot < base + WAYS; slot++) {
+                long current = this.fingerprints.get(slot);
+                if (current == fingerprint) {
+                    return slot;
+                }
+
+                long time = this.states.get(slot) & TIME_MASK;
+                if (victimFingerprint != EMPTY && (current == EMPTY || time < victimTime)) {
+                    victim = slot;
+                    victimFingerprint = current;
+                    victimTime = time;
+                }
+            }
+
+            if (this.fingerprints.compareAndSet(victim, victimFingerprint, fingerprint)) {
+                this.states.set(victim, EMPTY);
+                return victim;
+            }
+            // Another username took the slot first, look at the set again
+        }
+    }
+
+    private boolean isLive(long state, long nowInMs) {
+        return state != EMPTY && nowInMs - (state & TIME_MASK) <= this.resetAfterInMs;
+    }
+
+    private long remainingLock(long state, long nowInMs) {
+        if (!this.isLive(state, nowInMs)) {
+            return 0;
+        }
+
+        long failures = state >>> FAILURES_SHIFT;
+        if (failures < this.threshold) {
+            return 0;
+        }
+
+        long doublings = failures - this.threshold;
+        long lock = doublings < Long.numberOfLeadingZeros(this.initialLockInMs) - 1
+                ? Math.min(this.initialLockInMs << doublings, this.maximumLockInMs)
+                : this.maximumLockInMs;
+        return Math.max((state & TIME_MASK) + lock - nowInMs, 0);
+    }
+
+    private long fingerprint(@NotNull String username) {
+        long fingerprint = this.fingerprintFunction.hashUnencodedChars(username).asLong();
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+}
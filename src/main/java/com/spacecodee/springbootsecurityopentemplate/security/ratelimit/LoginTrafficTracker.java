@@ -0,0 +1,99 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitterStats;
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitterWindow;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+
+/**
+ * Heavy hitters of the login route by client address and by attempted username, one {@link SpaceSavingSketch}
+ * pair per time window.
+ * <p>
+ * The per-address rate limit cannot see credential stuffing spread over many addresses; the same username
+ * climbing to the top of the username summary while no address stands out is that pattern. Memory is fixed by
+ * the sketch capacity whatever the traffic. The current window is reported next to the last completed one.
+ */
+@Component
+public class LoginTrafficTracker {
+
+    // Usernames come from the request body; a bounded key keeps the sketch memory bounded too
+    private static final int MAX_USERNAME_LENGTH = 64;
+
+    private final String method;
+    private final String path;
+    private final int capacity;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public LoginTrafficTracker(@Value("${security.heavy-hitters.route}") String route,
+                               @Value("${security.heavy-hitters.capacity}") int capacity) {
+        var parts = route.trim().split("\\s+");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Heavy hitter route must be '<METHOD> <path>': " + route);
+        }
+        this.method = parts[0];
+        this.path = parts[1];
+        this.capacity = capacity;
+        this.current = new Window(Instant.now(), capacity);
+    }
+
+    public boolean tracks(@NotNull String httpMethod, @NotNull String requestPath) {
+        return this.method.equalsIgnoreCase(httpMethod) && this.path.equals(requestPath);
+    }
+
+    public void record(@Nullable InetAddress clientIp, @Nullable String username) {
+        var window = this.current;
+        if (clientIp != null) {
+            window.clientIps.offer(InetAddresses.toAddrString(clientIp));
+        }
+        if (username != null && !username.isBlank()) {
+            window.usernames.offer(username.length() > MAX_USERNAME_LENGTH
+                    ? username.substring(0, MAX_USERNAME_LENGTH) : username);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${security.heavy-hitters.window-in-ms}",
+            initialDelayString = "${security.heavy-hitters.window-in-ms}")
+    public void rotate() {
+        var now = Instant.now();
+        var ended = this.current;
+        ended.end = now;
+        this.current = new Window(now, this.capacity);
+        this.previous = ended;
+    }
+
+    public @NotNull HeavyHitterStats getStats(int limit) {
+        var ended = this.previous;
+        return new HeavyHitterStats(this.current.summarise(limit),
+                ended != null ? ended.summarise(limit) : null);
+    }
+
+    private static final class Window {
+        private final Instant start;
+        private final SpaceSavingSketch clientIps;
+        private final SpaceSavingSketch usernames;
+        // Set when the window is rotated out; offers racing with the rotation still land in it
+        private volatile Instant end;
+
+        private Window(Instant start, int capacity) {
+            this.start = start;
+            this.clientIps = new SpaceSavingSketch(capacity);
+            this.usernames = new SpaceSavingSketch(capacity);
+        }
+
+        private @NotNull HeavyHitterWindow summarise(int limit) {
+            var until = this.end != null ? this.end : Instant.now();
+            var seconds = Math.max(until.toEpochMilli() - this.start.toEpochMilli(), 1) / 1000.0;
+            return new HeavyHitterWindow(this.start, Math.round(seconds), this.clientIps.total(),
+                    this.clientIps.top(limit, seconds), this.usernames.top(limit, seconds));
+        }
+    }
+}
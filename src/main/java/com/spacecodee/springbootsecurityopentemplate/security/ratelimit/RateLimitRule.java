@@ -0,0 +1,77 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.enums.RateLimitScopeEnum;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.util.AntPathMatcher;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * One entry of {@code security.rate-limit.rules}, written as
+ * {@code <name> <METHOD|*> <path pattern> <ROUTE|IP|USERNAME|IP_USERNAME> <limit> <ISO-8601 window>}, for example
+ * {@code login-ip POST /auth/authenticate IP 5 PT15M}. Path patterns are Ant patterns relative to the context path.
+ */
+public record RateLimitRule(
+        String name,
+        String method,
+        String pathPattern,
+        RateLimitScopeEnum scope,
+        int limit,
+        Duration window) {
+
+    private static final String ANY_METHOD = "*";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public RateLimitRule {
+        if (limit <= 0 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate limit rule " + name + " needs a positive limit and window");
+        }
+    }
+
+    public static @NotNull RateLimitRule parse(@NotNull String specification) {
+        var parts = specification.trim().split("\\s+");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Invalid rate limit rule: " + specification);
+        }
+
+        return new RateLimitRule(parts[0], parts[1].toUpperCase(Locale.ROOT), parts[2],
+                RateLimitScopeEnum.valueOf(parts[3].toUpperCase(Locale.ROOT)), Integer.parseInt(parts[4]),
+                Duration.parse(parts[5]));
+    }
+
+    public boolean matches(@NotNull String httpMethod, @NotNull String path) {
+        return (ANY_METHOD.equals(this.method) || this.method.equals(httpMethod))
+                && PATH_MATCHER.match(this.pathPattern, path);
+    }
+
+    public boolean needsUsername() {
+        return this.scope == RateLimitScopeEnum.USERNAME || this.scope == RateLimitScopeEnum.IP_USERNAME;
+    }
+
+    /**
+     * The bucket key of a request under this rule, or {@code null} when the request lacks what the rule is keyed
+     * by.
+     */
+    public @Nullable String keyFor(@Nullable InetAddress clientIp, @Nullable String username) {
+        return switch (this.scope) {
+            case ROUTE -> this.name;
+            case IP -> clientIp != null ? this.name + '|' + InetAddresses.toAddrString(clientIp) : null;
+            case USERNAME -> username != null ? this.name + '|' + username : null;
+            case IP_USERNAME -> clientIp != null && username != null
+                    ? this.name + '|' + InetAddresses.toAddrString(clientIp) + '|' + username
+                    : null;
+        };
+    }
+
+    public long windowInNanos() {
+        return this.window.toNanos();
+    }
+
+    public long emissionIntervalInNanos() {
+        return Math.max(this.window.toNanos() / this.limit, 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving summary of the most frequent keys of a stream, in at most {@code capacity} counters.
+ * <p>
+ * A new key takes over the counter with the lowest count and inherits that count as its error, so every key
+ * seen more than {@code total / capacity} times is guaranteed to hold a counter and no count is ever
+ * underestimated. Counters are kept ordered by count, each offer costs {@code O(log capacity)}.
+ */
+public final class SpaceSavingSketch {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.sequence);
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long sequence;
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sketch capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = HashMap.newHashMap(capacity);
+    }
+
+    public synchronized void offer(@NotNull String key) {
+        this.total++;
+        var counter = this.counters.get(key);
+        if (counter != null) {
+            this.byCount.remove(counter);
+            counter.count++;
+            this.byCount.add(counter);
+            return;
+        }
+
+        if (this.counters.size() < this.capacity) {
+            counter = new Counter(key, 1, 0, this.sequence++);
+        } else {
+            var smallest = this.byCount.pollFirst();
+            this.counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + 1, smallest.count, this.sequence++);
+        }
+        this.counters.put(key, counter);
+        this.byCount.add(counter);
+    }
+
+    /**
+     * The {@code limit} largest counters, largest first, with their rate over {@code seconds}.
+     */
+    public synchronized @NotNull List<HeavyHitter> top(int limit, double seconds) {
+        List<HeavyHitter> top = new ArrayList<>(Math.min(limit, this.counters.size()));
+        var descending = this.byCount.descendingIterator();
+        while (top.size() < limit && descending.hasNext()) {
+            var counter = descending.next();
+            top.add(new HeavyHitter(counter.key, counter.count, counter.error,
+                    seconds > 0 ? counter.count / seconds : 0));
+        }
+        return top;
+    }
+
+    public synchronized long total() {
+        return this.total;
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    private static final class Counter {
+        private final String key;
+        private final long error;
+        private final long sequence;
+        private long count;
+
+        private Counter(String key, long count, long error, long sequence) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.sequence = sequence;
+        }
+    }
+}
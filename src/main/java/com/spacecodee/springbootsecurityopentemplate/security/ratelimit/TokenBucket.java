@@ -0,0 +1,63 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token bucket, kept as a single theoretical arrival time (the GCRA form of a token bucket).
+ * <p>
+ * A bucket of {@code limit} tokens refills one token every {@code window / limit}. Instead of a token count and a
+ * refill timestamp, the bucket stores the instant at which it would be full again; taking a token pushes that
+ * instant one emission interval forward, and a request is refused when it would land more than a window ahead of
+ * now. One {@code compareAndSet} per request, so concurrent requests for the same key are neither lost nor
+ * serialised behind a lock, and the remaining tokens and reset time fall out of the same value.
+ */
+public final class TokenBucket {
+
+    private final AtomicLongArray theoreticalArrival;
+
+    public TokenBucket(long nowInNanos) {
+        this.theoreticalArrival = new AtomicLongArray(1);
+        this.theoreticalArrival.set(0, nowInNanos);
+    }
+
+    public @NotNull RateLimitDecision tryAcquire(@NotNull RateLimitRule rule, long nowInNanos) {
+        return tryAcquire(this.theoreticalArrival, 0, rule, nowInNanos);
+    }
+
+    /**
+     * Moves the arrival time forward to one computed elsewhere, e.g. by another node, never backwards.
+     */
+    public void advanceTo(long arrivalInNanos) {
+        long arrival;
+        do {
+            arrival = this.theoreticalArrival.get(0);
+        } while (arrival - arrivalInNanos < 0 && !this.theoreticalArrival.compareAndSet(0, arrival, arrivalInNanos));
+    }
+
+    /**
+     * The bucket step on one cell of an array of arrival times, shared with {@link IpBucketTable}.
+     */
+    static @NotNull RateLimitDecision tryAcquire(@NotNull AtomicLongArray arrivals, int index,
+                                                 @NotNull RateLimitRule rule, long nowInNanos) {
+        long interval = rule.emissionIntervalInNanos();
+        long window = interval * rule.limit();
+
+        while (true) {
+            long arrival = arrivals.get(index);
+            long next = Math.max(arrival, nowInNanos) + interval;
+            long ahead = next - nowInNanos;
+
+            if (ahead > window) {
+                return new RateLimitDecision(false, rule.name(), rule.limit(), 0,
+                        Math.max(arrival - nowInNanos, 0), ahead - window);
+            }
+            if (arrivals.compareAndSet(index, arrival, next)) {
+                int remaining = (int) ((window - ahead) / interval);
+                return new RateLimitDecision(true, rule.name(), rule.limit(), remaining, ahead, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit.impl;
+
+import com.google.common.cache.Cache;
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.enums.RateLimitScopeEnum;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IRateLimitStore;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IpBucketTable;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Default store: IP scoped rules in a primitive {@link IpBucketTable} each, every other rule in a string keyed
+ * Guava cache of {@link TokenBucket}s. Limits are per process.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements IRateLimitStore {
+
+    private final Map<RateLimitRule, IpBucketTable> ipTables = new HashMap<>();
+    private final Cache<String, TokenBucket> rateLimitBuckets;
+
+    public LocalRateLimitStore(List<RateLimitRule> rateLimitRules, Cache<String, TokenBucket> rateLimitBuckets,
+                               @Value("${security.rate-limit.ip-table.slots}") int ipTableSlots,
+                               @Value("${security.rate-limit.ipv6-prefix-length}") int ipv6PrefixLength) {
+        this.rateLimitBuckets = rateLimitBuckets;
+        for (RateLimitRule rule : rateLimitRules) {
+            if (rule.scope() == RateLimitScopeEnum.IP) {
+                var table = new IpBucketTable(ipTableSlots, ipv6PrefixLength);
+                this.ipTables.put(rule, table);
+                log.info("Rate limit rule {} tracks up to {} addresses", rule.name(), table.capacity());
+            }
+        }
+    }
+
+    @Override
+    public @Nullable RateLimitDecision tryAcquire(@NotNull RateLimitRule rule, @Nullable InetAddress clientIp,
+                                                  @Nullable String username) {
+        long now = System.nanoTime();
+        var ipTable = this.ipTables.get(rule);
+        if (ipTable != null) {
+            return clientIp != null ? ipTable.tryAcquire(clientIp, rule, now) : null;
+        }
+
+        var key = rule.keyFor(clientIp, username);
+        return key != null ? this.bucketFor(key, now).tryAcquire(rule, now) : null;
+    }
+
+    @Scheduled(fixedRate = 3600000) // Every hour
+    public void cleanupBuckets() {
+        this.rateLimitBuckets.cleanUp();
+    }
+
+    private @NotNull TokenBucket bucketFor(@NotNull String key, long now) {
+        // Hits read the cache without locking; only a new key goes through the loader
+        var bucket = this.rateLimitBuckets.getIfPresent(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        try {
+            return this.rateLimitBuckets.get(key, () -> new TokenBucket(now));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not create rate limit bucket for " + key, e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.spacecodee.springbootsecurityopentemplate.security.ratelimit.impl;
+
+import com.google.common.cache.Cache;
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.enums.RateLimitScopeEnum;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IRateLimitBucketRepository;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IRateLimitStore;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IpBucketTable;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Store shared by every replica through the {@code rate_limit_bucket} table, so spreading attempts over nodes
+ * does not multiply the limit.
+ * <p>
+ * Decisions are still taken on in-process {@link TokenBucket}s, a login attempt never waits for the database.
+ * Accepted hits are counted per key and flushed every few milliseconds in one upsert, which applies them to the
+ * shared bucket and returns its arrival time; the local bucket then moves forward to it, taking in the hits the
+ * other nodes accepted. Limits are therefore global up to one flush interval of traffic per node.
+ * <p>
+ * IP scoped rules are admitted first by a per-process {@link IpBucketTable}, like the local store does, and only
+ * then by the shared bucket. A flood of spoofed addresses can push real attackers out of the size-bounded string
+ * cache, but not out of the table, so under such a flood an address is still held to the limit on every node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.rate-limit.store", havingValue = "postgres")
+public class PostgresRateLimitStore implements IRateLimitStore {
+
+    private final Map<RateLimitRule, IpBucketTable> ipTables = new HashMap<>();
+    private final Cache<String, TokenBucket> rateLimitBuckets;
+    private final IRateLimitBucketRepository rateLimitBucketRepository;
+    private final int ipv6PrefixLength;
+    private final int maximumBatchSize;
+
+    // Hits accepted locally since the last flush, by bucket key
+    private final Map<String, PendingHits> pendingHits = new ConcurrentHashMap<>();
+
+    public PostgresRateLimitStore(List<RateLimitRule> rateLimitRules, Cache<String, TokenBucket> rateLimitBuckets,
+                                  IRateLimitBucketRepository rateLimitBucketRepository,
+                                  @Value("${security.rate-limit.ip-table.slots}") int ipTableSlots,
+                                  @Value("${security.rate-limit.ipv6-prefix-length}") int ipv6PrefixLength,
+                                  @Value("${security.rate-limit.postgres.maximum-batch-size}") int maximumBatchSize) {
+        this.rateLimitBuckets = rateLimitBuckets;
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.ipv6PrefixLength = ipv6PrefixLength;
+        this.maximumBatchSize = maximumBatchSize;
+        for (RateLimitRule rule : rateLimitRules) {
+            if (rule.scope() == RateLimitScopeEnum.IP) {
+                this.ipTables.put(rule, new IpBucketTable(ipTableSlots, ipv6PrefixLength));
+            }
+        }
+    }
+
+    @Override
+    public @Nullable RateLimitDecision tryAcquire(@NotNull RateLimitRule rule, @Nullable InetAddress clientIp,
+                                                  @Nullable String username) {
+        var key = rule.keyFor(this.clientPrefix(clientIp), username);
+        if (key == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        var ipTable = this.ipTables.get(rule);
+        if (ipTable != null && clientIp != null) {
+            var admission = ipTable.tryAcquire(clientIp, rule, now);
+            if (!admission.allowed()) {
+                return admission;
+            }
+        }
+
+        var decision = this.bucketFor(key, now).tryAcquire(rule, now);
+        if (decision.allowed()) {
+            this.pendingHits.computeIfAbsent(key, ignored -> new PendingHits(rule, new LongAdder())).hits()
+                    .increment();
+        }
+        return decision;
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.postgres.flush-interval-in-ms}")
+    public void flush() {
+        List<String> keys = new ArrayList<>();
+        List<Long> increments = new ArrayList<>();
+
+        for (var entry : this.pendingHits.entrySet()) {
+            long hits = entry.getValue().hits().sumThenReset();
+            if (hits == 0) {
+                // Idle for a whole interval; a hit racing with this removal is only counted locally
+                this.pendingHits.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            var interval = TimeUnit.NANOSECONDS.toMicros(entry.getValue().rule().emissionIntervalInNanos());
+            keys.add(entry.getKey());
+            increments.add(hits * Math.max(interval, 1));
+            if (keys.size() == this.maximumBatchSize) {
+                this.share(keys, increments);
+                keys.clear();
+                increments.clear();
+            }
+        }
+
+        if (!keys.isEmpty()) {
+            this.share(keys, increments);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.postgres.cleanup-interval-in-ms}")
+    public void deleteFullBuckets() {
+        try {
+            int deleted = this.rateLimitBucketRepository.deleteFullBuckets(nowInMicros());
+            log.debug("Deleted {} full rate limit buckets", deleted);
+        } catch (DataAccessException e) {
+            log.warn("Could not delete full rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    private void share(@NotNull List<String> keys, @NotNull List<Long> increments) {
+        long nowInMicros = nowInMicros();
+        long nowInNanos = System.nanoTime();
+
+        try {
+            var rows = this.rateLimitBucketRepository.addHits(keys.toArray(String[]::new),
+                    increments.toArray(Long[]::new), nowInMicros);
+            for (Object[] row : rows) {
+                var bucket = this.rateLimitBuckets.getIfPresent((String) row[0]);
+                if (bucket != null) {
+                    long aheadInMicros = ((Number) row[1]).longValue() - nowInMicros;
+                    bucket.advanceTo(nowInNanos + TimeUnit.MICROSECONDS.toNanos(aheadInMicros));
+                }
+            }
+        } catch (DataAccessException e) {
+            // The hits are already applied locally, limits fall back to per node until the database answers
+            log.warn("Could not share {} rate limit buckets: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    private @NotNull TokenBucket bucketFor(@NotNull String key, long now) {
+        var bucket = this.rateLimitBuckets.getIfPresent(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        try {
+            return this.rateLimitBuckets.get(key, () -> new TokenBucket(now));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not create rate limit bucket for " + key, e);
+        }
+    }
+
+    /**
+     * Shared keys are strings, so IPv6 clients are cut to their prefix here, like the local address table does.
+     */
+    private @Nullable InetAddress clientPrefix(@Nullable InetAddress clientIp) {
+        if (!(clientIp instanceof Inet6Address) || this.ipv6PrefixLength >= 128) {
+            return clientIp;
+        }
+
+        var bytes = clientIp.getAddress();
+        for (int bit = this.ipv6PrefixLength; bit < 128; bit++) {
+            bytes[bit / 8] &= (byte) ~(0x80 >>> (bit % 8));
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            return clientIp;
+        }
+    }
+
+    private static long nowInMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    private record PendingHits(RateLimitRule rule, LongAdder hits) {
+    }
+}
@@ -2,18 +2,25 @@ package com.spacecodee.springbootsecurityopentemplate.service.auth;
 
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.common.auth.AuthenticationResponsePojo;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.LoginUserVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.RefreshTokenVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.TokenIntrospectionVO;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.List;
+
 public interface IAuthenticationService {
 
     AuthenticationResponsePojo login(String locale, LoginUserVO request);
 
     boolean validateToken(String locale, String jwt);
 
+    List<TokenIntrospectionResult> introspectTokens(String locale, TokenIntrospectionVO request);
+
     UserDetailsDTO findLoggedInUser(String locale);
 
     void logout(String locale, HttpServletRequest request);
 
-    AuthenticationResponsePojo refreshToken(String locale, HttpServletRequest request);
+    AuthenticationResponsePojo refreshToken(String locale, HttpServletRequest request, RefreshTokenVO refreshTokenVO);
 }
@@ -2,25 +2,39 @@ package com.spacecodee.springbootsecurityopentemplate.service.auth.impl;
 
 import com.spacecodee.springbootsecurityopentemplate.data.common.auth.AuthenticationResponsePojo;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.LoginUserVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.RefreshTokenVO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.TokenIntrospectionVO;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.PasswordHashingBusyException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenNotFoundException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.user.UsernameNotFoundException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.token.DeferredJwtAuthenticationToken;
 import com.spacecodee.springbootsecurityopentemplate.service.auth.IAuthenticationService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ILoginAttemptService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -29,16 +43,36 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final ITokenServiceFacade tokenServiceFacade;
     private final ExceptionShortComponent exceptionShortComponent;
+    private final ILoginAttemptService loginAttemptService;
+    private final PasswordEncoder passwordEncoder;
+    private final IUserRepository userRepository;
+
+    @Value("${security.password-hashing.rehash-on-login}")
+    private boolean rehashOnLogin;
 
     @Override
     public AuthenticationResponsePojo login(String locale, @NotNull LoginUserVO userVO) {
+        // A locked username is turned away before the user is loaded or the password hashed
+        this.loginAttemptService.checkNotLocked(locale, userVO.username());
+
         Authentication authentication = new UsernamePasswordAuthenticationToken(userVO.username(), userVO.password());
         Authentication authResult;
         // Authenticate user
         try {
             authResult = this.authenticationManager.authenticate(authentication);
+        } catch (PasswordHashingBusyException e) {
+            // Raised by the password encoder when the hashing queue is full
+            throw e;
         } catch (InternalAuthenticationServiceException | BadCredentialsException e) {
+            if (e.getCause() instanceof PasswordHashingBusyException cause) {
+                // The provider wraps exceptions raised while it looks the user up
+                throw cause;
+            }
             log.error("Error authenticating user: {}", e.getMessage());
+            // An unknown username counts like a wrong password, so lockouts do not reveal which accounts exist
+            if (e instanceof BadCredentialsException || e.getCause() instanceof UsernameNotFoundException) {
+                this.loginAttemptService.loginFailed(userVO.username());
+            }
             throw this.exceptionShortComponent.invalidCredentialsException(
                     "auth.invalid.credentials",
                     locale,
@@ -48,7 +82,9 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
             throw this.exceptionShortComponent.invalidParameterException("error.server", locale);
         }
 
+        this.loginAttemptService.loginSucceeded(userVO.username());
         UserDetailsDTO userDetailsDTO = (UserDetailsDTO) authResult.getPrincipal();
+        this.rehashIfOutdated(userDetailsDTO, userVO.password());
 
         // Use facade to handle token operations
         return this.tokenServiceFacade.authenticateUser(userDetailsDTO, locale);
@@ -59,9 +95,18 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
         return this.tokenServiceFacade.isValidToken(jwt, locale);
     }
 
+    @Override
+    public List<TokenIntrospectionResult> introspectTokens(String locale, @NotNull TokenIntrospectionVO request) {
+        return this.tokenServiceFacade.introspectTokens(request.tokens(), locale);
+    }
+
     @Override
     public UserDetailsDTO findLoggedInUser(String locale) {
         var auth = (UsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof DeferredJwtAuthenticationToken deferredToken) {
+            return deferredToken.getUserDetails();
+        }
+
         var username = auth.getPrincipal().toString();
         return this.userDetailsService.findByUsername(locale, username);
     }
@@ -74,8 +119,21 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
         }
     }
 
+    /**
+     * Consuming the presented token and saving its replacement commit together, a failure in between leaves the
+     * old token usable instead of signing the client out. A detected reuse still commits the revocation it made.
+     */
     @Override
-    public AuthenticationResponsePojo refreshToken(String locale, HttpServletRequest request) {
+    @Transactional(noRollbackFor = TokenNotFoundException.class)
+    public AuthenticationResponsePojo refreshToken(String locale, HttpServletRequest request,
+                                                   RefreshTokenVO refreshTokenVO) {
+        if (refreshTokenVO != null && StringUtils.hasText(refreshTokenVO.refreshToken())) {
+            // Split-token mode: the refresh token is exchanged once for a new access and refresh token pair
+            var username = this.tokenServiceFacade.consumeRefreshToken(refreshTokenVO.refreshToken(), locale);
+            var userDetails = this.userDetailsService.findByUsername(locale, username);
+            return this.tokenServiceFacade.authenticateUser(userDetails, locale);
+        }
+
         var token = extractTokenFromRequest(request);
         if (token == null) {
             throw this.exceptionShortComponent.tokenNotFoundException("token.not.found", locale);
@@ -88,6 +146,26 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
         return new AuthenticationResponsePojo(newToken);
     }
 
+    /**
+     * The raw password is only known here, so a hash made with another algorithm or cost is replaced now. A
+     * failure leaves the old hash in place, it still verifies and the next login tries again. Off unless
+     * {@code security.password-hashing.rehash-on-login} is set, so a deploy does not rewrite every stored hash.
+     */
+    private void rehashIfOutdated(@NotNull UserDetailsDTO userDetailsDTO, String rawPassword) {
+        if (!this.rehashOnLogin || !this.passwordEncoder.upgradeEncoding(userDetailsDTO.getPassword())) {
+            return;
+        }
+
+        try {
+            var rehashed = this.passwordEncoder.encode(rawPassword);
+            this.userRepository.updatePassword((int) userDetailsDTO.getId(), rehashed);
+            userDetailsDTO.setPassword(rehashed);
+            log.info("Rehashed the password of user {} with the current encoding", userDetailsDTO.getUsername());
+        } catch (Exception e) {
+            log.warn("Could not rehash the password of user {}: {}", userDetailsDTO.getUsername(), e.getMessage());
+        }
+    }
+
     private @Nullable String extractTokenFromRequest(@NotNull HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
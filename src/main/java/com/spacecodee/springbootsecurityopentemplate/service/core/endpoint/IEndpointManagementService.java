@@ -20,4 +20,6 @@ public interface IEndpointManagementService {
     void removeOperation(String locale, Integer operationId);
 
     void removeModule(String locale, Integer moduleId);
+
+    void revokeRoleTokens(String locale, Integer roleId);
 }
\ No newline at end of file
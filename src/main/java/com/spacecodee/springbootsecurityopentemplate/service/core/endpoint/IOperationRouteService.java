@@ -0,0 +1,22 @@
+package com.spacecodee.springbootsecurityopentemplate.service.core.endpoint;
+
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.authority.AuthorityDictionary;
+
+public interface IOperationRouteService {
+
+    int[] resolveOperationIds(String httpMethod, String url);
+
+    /**
+     * Operation tag dictionary built from the same snapshot as the route index, used to encode authorities in
+     * tokens and to read them back on introspection.
+     */
+    AuthorityDictionary authorityDictionary();
+
+    void rebuild();
+
+    /**
+     * Rebuilds when the operation table changed since the last build, including changes made through other
+     * instances.
+     */
+    void rebuildIfChanged();
+}
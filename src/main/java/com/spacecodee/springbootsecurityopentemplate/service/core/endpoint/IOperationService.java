@@ -1,10 +1,25 @@
 package com.spacecodee.springbootsecurityopentemplate.service.core.endpoint;
 
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsOperationDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.SnapshotStats;
 
 import java.util.List;
 
 public interface IOperationService {
 
     List<UserDetailsOperationDTO> findByPublicAccess();
+
+    boolean isPublicOperation(int[] operationIds);
+
+    boolean isEveryOperationPublic(int[] operationIds);
+
+    void refreshPublicOperations();
+
+    /**
+     * Refreshes when the operation table changed since the last refresh, including changes made through other
+     * instances.
+     */
+    void refreshIfChanged();
+
+    SnapshotStats getPublicOperationStats();
 }
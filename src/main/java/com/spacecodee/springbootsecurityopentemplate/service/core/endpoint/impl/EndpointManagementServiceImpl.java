@@ -16,7 +16,14 @@ import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IMod
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IOperationRepository;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IPermissionRepository;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IRoleRepository;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IEndpointManagementService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtTokenManagementService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevocationEpochService;
+import com.spacecodee.springbootsecurityopentemplate.utils.TransactionUtils;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
@@ -30,9 +37,15 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
     private final IOperationRepository operationRepository;
     private final IPermissionRepository permissionRepository;
     private final IRoleRepository roleRepository;
+    private final IUserRepository userRepository;
     private final IModuleDetailsMapper moduleMapper;
     private final IOperationDetailsMapper operationMapper;
     private final IPermissionDetailsMapper permissionMapper;
+    private final IOperationRouteService operationRouteService;
+    private final IOperationService operationService;
+    private final IUserDetailsService userDetailsService;
+    private final IRevocationEpochService revocationEpochService;
+    private final IJwtTokenManagementService tokenManagementService;
     private final ExceptionShortComponent exceptionComponent;
 
     @Override
@@ -50,6 +63,8 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
 
         var moduleEntity = this.moduleMapper.dtoToEntity(moduleVO);
         var savedEntity = this.moduleRepository.save(moduleEntity);
+        // Rebuilt once committed, so a rollback never leaves an index describing routes that do not exist
+        TransactionUtils.afterCommit(this.operationRouteService::rebuild);
         return this.moduleMapper.toDTO(savedEntity);
     }
 
@@ -69,6 +84,8 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
         operationEntity.setModuleEntity(moduleEntity);
 
         var savedEntity = this.operationRepository.save(operationEntity);
+        TransactionUtils.afterCommit(this.operationRouteService::rebuild);
+        TransactionUtils.afterCommit(this.operationService::refreshPublicOperations);
         return this.operationMapper.toDTO(savedEntity);
     }
 
@@ -86,6 +103,7 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
                 .setOperationEntity(operationEntity);
 
         var savedEntity = this.permissionRepository.save(permissionEntity);
+        this.userDetailsService.evictAllPrincipals();
         return this.permissionMapper.toDTO(savedEntity);
     }
 
@@ -96,6 +114,7 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
             throw this.exceptionComponent.permissionNotFoundException("permission.not.found", locale);
         }
         this.permissionRepository.deleteById(permissionId);
+        this.userDetailsService.evictAllPrincipals();
     }
 
     @Override
@@ -105,6 +124,9 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
             throw this.exceptionComponent.operationNotFoundException("operation.not.found", locale);
         }
         this.operationRepository.deleteById(operationId);
+        TransactionUtils.afterCommit(this.operationRouteService::rebuild);
+        TransactionUtils.afterCommit(this.operationService::refreshPublicOperations);
+        this.userDetailsService.evictAllPrincipals();
     }
 
     @Override
@@ -114,5 +136,19 @@ public class EndpointManagementServiceImpl implements IEndpointManagementService
             throw this.exceptionComponent.moduleNotFoundException("module.not.found", locale);
         }
         this.moduleRepository.deleteById(moduleId);
+        TransactionUtils.afterCommit(this.operationRouteService::rebuild);
+        TransactionUtils.afterCommit(this.operationService::refreshPublicOperations);
+        this.userDetailsService.evictAllPrincipals();
+    }
+
+    @Override
+    @Transactional
+    public void revokeRoleTokens(String locale, Integer roleId) {
+        if (!this.roleRepository.existsById(roleId)) {
+            throw this.exceptionComponent.roleNotFoundException("role.not.found", locale);
+        }
+        this.revocationEpochService.revokeRole(roleId);
+        // The epoch rejects the issued tokens, the rows go too so login does not hand one of them back
+        this.tokenManagementService.invalidateUsersTokens(locale, this.userRepository.findIdsByRoleId(roleId));
     }
 }
\ No newline at end of file
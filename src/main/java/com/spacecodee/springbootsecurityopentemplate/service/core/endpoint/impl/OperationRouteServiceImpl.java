@@ -0,0 +1,79 @@
+package com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.impl;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IOperationRepository;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.authority.AuthorityDictionary;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.route.OperationRouteIndex;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class OperationRouteServiceImpl implements IOperationRouteService {
+
+    private final IOperationRepository operationRepository;
+    private final AtomicReference<OperationRouteIndex> routeIndex = new AtomicReference<>();
+    private final AtomicReference<AuthorityDictionary> authorityDictionary = new AtomicReference<>();
+    private volatile String fingerprint;
+
+    public OperationRouteServiceImpl(IOperationRepository operationRepository) {
+        this.operationRepository = operationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        this.rebuild();
+    }
+
+    @Override
+    public int[] resolveOperationIds(String httpMethod, String url) {
+        var index = this.routeIndex.get();
+        if (index == null) {
+            this.rebuild();
+            index = this.routeIndex.get();
+        }
+        return index.resolve(httpMethod, url);
+    }
+
+    @Override
+    public AuthorityDictionary authorityDictionary() {
+        var dictionary = this.authorityDictionary.get();
+        if (dictionary == null) {
+            this.rebuild();
+            dictionary = this.authorityDictionary.get();
+        }
+        return dictionary;
+    }
+
+    /**
+     * Loads every operation with its module and swaps in a freshly compiled index and authority dictionary.
+     * Readers keep using the previous ones until the new ones are fully built, so a lookup never observes a
+     * partially built trie.
+     */
+    @Override
+    public synchronized void rebuild() {
+        // Read before the operations, a change landing in between is picked up by the next check
+        this.fingerprint = this.operationRepository.findRoutingFingerprint();
+        var operations = this.operationRepository.findAllWithModule();
+        var index = OperationRouteIndex.build(operations);
+        var dictionary = AuthorityDictionary.build(operations);
+        this.routeIndex.set(index);
+        this.authorityDictionary.set(dictionary);
+        log.info("Operation route index rebuilt with {} operations, authority dictionary version {}",
+                index.size(), dictionary.version());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.operations.refresh-interval-in-ms:10000}")
+    public void rebuildIfChanged() {
+        if (!Objects.equals(this.fingerprint, this.operationRepository.findRoutingFingerprint())) {
+            this.rebuild();
+        }
+    }
+}
@@ -1,26 +1,127 @@
 package com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.impl;
 
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsOperationDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.PublicOperationSnapshot;
+import com.spacecodee.springbootsecurityopentemplate.data.record.SnapshotStats;
 import com.spacecodee.springbootsecurityopentemplate.mappers.details.IOperationDetailsMapper;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IOperationRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
-@AllArgsConstructor
+@Slf4j
 @Service
 public class OperationServiceImpl implements IOperationService {
 
     private final IOperationRepository operationRepository;
     private final IOperationDetailsMapper operationDTOMapper;
 
+    private final AtomicReference<PublicOperationSnapshot> publicSnapshot = new AtomicReference<>();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private volatile String fingerprint;
+
+    public OperationServiceImpl(IOperationRepository operationRepository,
+            IOperationDetailsMapper operationDTOMapper) {
+        this.operationRepository = operationRepository;
+        this.operationDTOMapper = operationDTOMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        this.refreshPublicOperations();
+    }
+
     @Override
     public List<UserDetailsOperationDTO> findByPublicAccess() {
-        var list = this.operationRepository.findByPermitAllIsPublic();
-        return list.stream()
+        return this.currentSnapshot().operations();
+    }
+
+    @Override
+    public boolean isPublicOperation(int @NotNull [] operationIds) {
+        var publicIds = this.currentSnapshot().operationIds();
+        for (int operationId : operationIds) {
+            if (publicIds.contains(operationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stricter than {@link #isPublicOperation(int[])}: a route that also matches a protected operation is not
+     * treated as public, so callers skipping authentication for it fail closed.
+     */
+    @Override
+    public boolean isEveryOperationPublic(int @NotNull [] operationIds) {
+        var publicIds = this.currentSnapshot().operationIds();
+        for (int operationId : operationIds) {
+            if (!publicIds.contains(operationId)) {
+                return false;
+            }
+        }
+        return operationIds.length > 0;
+    }
+
+    /**
+     * Reloads the public operations and publishes them as a new immutable snapshot. The version only moves
+     * forward when the set of public operations actually changed, the rebuild count tracks every reload.
+     */
+    @Override
+    public synchronized void refreshPublicOperations() {
+        // Read before the operations, a change landing in between is picked up by the next check
+        this.fingerprint = this.operationRepository.findRoutingFingerprint();
+        var operations = this.operationRepository.findByPermitAllIsPublic().stream()
                 .map(this.operationDTOMapper::toUserDetailsOperationDTO)
                 .toList();
+        Set<Integer> operationIds = operations.stream()
+                .map(UserDetailsOperationDTO::getId)
+                .collect(Collectors.toUnmodifiableSet());
+
+        var previous = this.publicSnapshot.get();
+        this.rebuildCount.incrementAndGet();
+        if (previous != null && previous.operations().equals(operations)) {
+            log.debug("Public operations unchanged, keeping snapshot version {}", previous.version());
+            return;
+        }
+
+        var version = previous == null ? 1 : previous.version() + 1;
+        this.publicSnapshot.set(new PublicOperationSnapshot(version, operations, operationIds, Instant.now()));
+        log.info("Public operation snapshot {} published with {} operations", version, operations.size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.operations.refresh-interval-in-ms:10000}")
+    public void refreshIfChanged() {
+        if (!Objects.equals(this.fingerprint, this.operationRepository.findRoutingFingerprint())) {
+            this.refreshPublicOperations();
+        }
+    }
+
+    @Override
+    public SnapshotStats getPublicOperationStats() {
+        var snapshot = this.currentSnapshot();
+        return new SnapshotStats(snapshot.version(), this.rebuildCount.get(), snapshot.operations().size(),
+                snapshot.builtAt());
+    }
+
+    private PublicOperationSnapshot currentSnapshot() {
+        var snapshot = this.publicSnapshot.get();
+        if (snapshot == null) {
+            this.refreshPublicOperations();
+            snapshot = this.publicSnapshot.get();
+        }
+        return snapshot;
     }
 }
@@ -10,6 +10,7 @@ import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEnti
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.role.IRoleService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.admin.IUserAdminService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
 import com.spacecodee.springbootsecurityopentemplate.service.security.password.IPasswordValidationService;
 import com.spacecodee.springbootsecurityopentemplate.service.validation.IUserValidationService;
@@ -32,6 +33,7 @@ public class UserAdminServiceImpl implements IUserAdminService {
     private final IUserRepository userRepository;
     private final IRoleService roleService;
     private final ITokenServiceFacade tokenServiceFacade;
+    private final IUserDetailsService userDetailsService;
     private final IAdminMapper userDTOMapper;
     private final IUserValidationService userValidationService;
     private final ExceptionShortComponent exceptionShortComponent;
@@ -44,6 +46,7 @@ public class UserAdminServiceImpl implements IUserAdminService {
             IUserRepository userRepository,
             IRoleService roleService,
             ITokenServiceFacade tokenServiceFacade,
+            IUserDetailsService userDetailsService,
             IAdminMapper userDTOMapper,
             IUserValidationService userValidationService,
             ExceptionShortComponent exceptionShortComponent,
@@ -52,6 +55,7 @@ public class UserAdminServiceImpl implements IUserAdminService {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.tokenServiceFacade = tokenServiceFacade;
+        this.userDetailsService = userDetailsService;
         this.userDTOMapper = userDTOMapper;
         this.userValidationService = userValidationService;
         this.exceptionShortComponent = exceptionShortComponent;
@@ -92,10 +96,12 @@ public class UserAdminServiceImpl implements IUserAdminService {
     public void update(int id, @NotNull AdminUVO adminVO, String locale) {
         var existingAdmin = this.userValidationService.validateUserUpdate(id, adminVO.getUsername(), ADMIN_PREFIX,
                 locale);
+        var previousUsername = existingAdmin.getUsername();
         boolean hasChanges = this.userValidationService.checkAndUpdateUserChanges(adminVO, existingAdmin);
 
         if (hasChanges) {
             saveAdminChanges(existingAdmin, locale);
+            this.userDetailsService.evictPrincipal(previousUsername);
         }
     }
 
@@ -108,6 +114,7 @@ public class UserAdminServiceImpl implements IUserAdminService {
         try {
             this.tokenServiceFacade.logoutByUserId(id, locale);
             this.userRepository.delete(existingAdmin);
+            this.userDetailsService.evictPrincipal(existingAdmin.getUsername());
         } catch (Exception e) {
             log.error("Error deleting admin", e);
             throw this.exceptionShortComponent.noDeletedException("admin.deleted.failed", locale);
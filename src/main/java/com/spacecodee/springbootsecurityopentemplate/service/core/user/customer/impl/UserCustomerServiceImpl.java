@@ -10,6 +10,7 @@ import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEnti
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.role.IRoleService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.customer.IUserCustomerService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
 import com.spacecodee.springbootsecurityopentemplate.service.validation.IUserValidationService;
 import com.spacecodee.springbootsecurityopentemplate.utils.AppUtils;
@@ -31,6 +32,7 @@ public class UserCustomerServiceImpl implements IUserCustomerService {
     private final IUserRepository userRepository;
     private final IRoleService roleService;
     private final ITokenServiceFacade tokenServiceFacade;
+    private final IUserDetailsService userDetailsService;
     private final IClientMapper clientMapper;
     private final IUserValidationService userValidationService;
     private final ExceptionShortComponent exceptionShortComponent;
@@ -42,6 +44,7 @@ public class UserCustomerServiceImpl implements IUserCustomerService {
                                    IUserRepository userRepository,
                                    IRoleService roleService,
                                    ITokenServiceFacade tokenServiceFacade,
+                                   IUserDetailsService userDetailsService,
                                    IClientMapper clientMapper,
                                    IUserValidationService userValidationService,
                                    ExceptionShortComponent exceptionShortComponent) {
@@ -49,6 +52,7 @@ public class UserCustomerServiceImpl implements IUserCustomerService {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.tokenServiceFacade = tokenServiceFacade;
+        this.userDetailsService = userDetailsService;
         this.clientMapper = clientMapper;
         this.userValidationService = userValidationService;
         this.exceptionShortComponent = exceptionShortComponent;
@@ -85,10 +89,12 @@ public class UserCustomerServiceImpl implements IUserCustomerService {
     public void update(int id, @NotNull CustomerUVO customerUVO, String locale) {
         var existingClient = this.userValidationService.validateUserUpdate(id, customerUVO.getUsername(), CUSTOMER_PREFIX,
                 locale);
+        var previousUsername = existingClient.getUsername();
         boolean hasChanges = this.userValidationService.checkAndUpdateUserChanges(customerUVO, existingClient);
 
         if (hasChanges) {
             saveClientChanges(existingClient, locale);
+            this.userDetailsService.evictPrincipal(previousUsername);
         }
     }
 
@@ -101,6 +107,7 @@ public class UserCustomerServiceImpl implements IUserCustomerService {
         try {
             this.tokenServiceFacade.logoutByUserId(id, locale);
             this.userRepository.delete(existingClient);
+            this.userDetailsService.evictPrincipal(existingClient.getUsername());
         } catch (Exception e) {
             log.error("Error deleting client", e);
             throw this.exceptionShortComponent.noDeletedException("customer.deleted.failed", locale);
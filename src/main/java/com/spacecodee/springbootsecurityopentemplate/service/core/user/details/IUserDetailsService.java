@@ -5,4 +5,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface IUserDetailsService extends UserDetailsService {
     UserDetailsDTO findByUsername(String locale, String username);
+
+    void evictPrincipal(String username);
+
+    void evictAllPrincipals();
 }
@@ -1,10 +1,12 @@
 package com.spacecodee.springbootsecurityopentemplate.service.core.user.details.impl;
 
+import com.google.common.cache.Cache;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
 import com.spacecodee.springbootsecurityopentemplate.mappers.details.IUserDetailsMapper;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.utils.TransactionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,21 +20,49 @@ public class UserDetailsServiceImpl implements IUserDetailsService {
     private final IUserRepository userRepository;
     private final IUserDetailsMapper userDetailsMapper;
     private final ExceptionShortComponent exceptionShortComponent;
+    private final Cache<String, UserDetailsDTO> principalCache;
 
     public UserDetailsServiceImpl(IUserRepository userRepository, IUserDetailsMapper userDetailsMapper,
-            ExceptionShortComponent exceptionShortComponent) {
+            ExceptionShortComponent exceptionShortComponent, Cache<String, UserDetailsDTO> principalCache) {
         this.userRepository = userRepository;
         this.userDetailsMapper = userDetailsMapper;
         this.exceptionShortComponent = exceptionShortComponent;
+        this.principalCache = principalCache;
     }
 
-    @Transactional(readOnly = true, noRollbackFor = UsernameNotFoundException.class)
+    /**
+     * Serves the principal from the bounded cache and only loads the user, role, permission, operation and
+     * module graph on a miss. The graph is fetched in a single query, so a miss does not need a transaction.
+     */
     @Override
     public UserDetailsDTO findByUsername(String locale, String username) {
-        return this.userRepository.findByUsername(username)
+        var cached = this.principalCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        var userDetailsDTO = this.userRepository.findWithPermissionsByUsername(username)
                 .map(this.userDetailsMapper::toUserDetailsDTO)
                 .orElseThrow(
                         () -> this.exceptionShortComponent.notFoundException("user.not.exists.by.username", locale));
+        this.principalCache.put(username, userDetailsDTO);
+        return userDetailsDTO;
+    }
+
+    /**
+     * Callers evict inside the transaction that changes the user, so the entry is dropped again once it commits:
+     * a concurrent miss that read the old row before the commit would otherwise cache it for a whole TTL.
+     */
+    @Override
+    public void evictPrincipal(String username) {
+        if (username != null) {
+            TransactionUtils.evictNowAndAfterCommit(() -> this.principalCache.invalidate(username));
+        }
+    }
+
+    @Override
+    public void evictAllPrincipals() {
+        TransactionUtils.evictNowAndAfterCommit(this.principalCache::invalidateAll);
     }
 
     @Transactional(readOnly = true)
@@ -9,6 +9,7 @@ import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IDeveloperMap
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEntity;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.role.IRoleService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.developer.IUserDeveloperService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
 import com.spacecodee.springbootsecurityopentemplate.service.validation.IUserValidationService;
@@ -31,6 +32,7 @@ public class UserDeveloperServiceImpl implements IUserDeveloperService {
     private final IUserRepository userRepository;
     private final IRoleService roleService;
     private final ITokenServiceFacade tokenServiceFacade;
+    private final IUserDetailsService userDetailsService;
     private final IDeveloperMapper developerMapper;
     private final IUserValidationService userValidationService;
     private final ExceptionShortComponent exceptionShortComponent;
@@ -42,6 +44,7 @@ public class UserDeveloperServiceImpl implements IUserDeveloperService {
                                     IUserRepository userRepository,
                                     IRoleService roleService,
                                     ITokenServiceFacade tokenServiceFacade,
+                                    IUserDetailsService userDetailsService,
                                     IDeveloperMapper developerMapper,
                                     IUserValidationService userValidationService,
                                     ExceptionShortComponent exceptionShortComponent) {
@@ -49,6 +52,7 @@ public class UserDeveloperServiceImpl implements IUserDeveloperService {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.tokenServiceFacade = tokenServiceFacade;
+        this.userDetailsService = userDetailsService;
         this.developerMapper = developerMapper;
         this.userValidationService = userValidationService;
         this.exceptionShortComponent = exceptionShortComponent;
@@ -81,10 +85,12 @@ public class UserDeveloperServiceImpl implements IUserDeveloperService {
     public void update(int id, @NotNull DeveloperUVO developerUVO, String locale) {
         var existingDeveloper = this.userValidationService.validateUserUpdate(id, developerUVO.getUsername(),
                 DEVELOPER_PREFIX, locale);
+        var previousUsername = existingDeveloper.getUsername();
         boolean hasChanges = this.userValidationService.checkAndUpdateUserChanges(developerUVO, existingDeveloper);
 
         if (hasChanges) {
             saveDeveloperChanges(existingDeveloper, locale);
+            this.userDetailsService.evictPrincipal(previousUsername);
         }
     }
 
@@ -97,6 +103,7 @@ public class UserDeveloperServiceImpl implements IUserDeveloperService {
         try {
             this.tokenServiceFacade.logoutByUserId(id, locale);
             this.userRepository.delete(existingDeveloper);
+            this.userDetailsService.evictPrincipal(existingDeveloper.getUsername());
         } catch (Exception e) {
             log.error("Error deleting developer", e);
             throw this.exceptionShortComponent.noDeletedException("developer.deleted.failed", locale);
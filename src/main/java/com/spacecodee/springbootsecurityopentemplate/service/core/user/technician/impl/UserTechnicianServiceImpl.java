@@ -9,6 +9,7 @@ import com.spacecodee.springbootsecurityopentemplate.mappers.basic.ITechnicianMa
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEntity;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.core.role.IRoleService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.core.user.technician.IUserTechnicianService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
 import com.spacecodee.springbootsecurityopentemplate.service.validation.IUserValidationService;
@@ -34,6 +35,7 @@ public class UserTechnicianServiceImpl implements IUserTechnicianService {
     private final IUserRepository userRepository;
     private final IRoleService roleService;
     private final ITokenServiceFacade tokenServiceFacade;
+    private final IUserDetailsService userDetailsService;
     private final ITechnicianMapper technicianMapper;
     private final IUserValidationService userValidationService;
 
@@ -45,6 +47,7 @@ public class UserTechnicianServiceImpl implements IUserTechnicianService {
             IUserRepository userRepository,
             IRoleService roleService,
             ITokenServiceFacade tokenServiceFacade,
+            IUserDetailsService userDetailsService,
                                      ITechnicianMapper technicianMapper,
             IUserValidationService userValidationService) {
         this.passwordEncoder = passwordEncoder;
@@ -52,6 +55,7 @@ public class UserTechnicianServiceImpl implements IUserTechnicianService {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.tokenServiceFacade = tokenServiceFacade;
+        this.userDetailsService = userDetailsService;
         this.technicianMapper = technicianMapper;
         this.userValidationService = userValidationService;
     }
@@ -83,10 +87,12 @@ public class UserTechnicianServiceImpl implements IUserTechnicianService {
     public void update(int id, @NotNull TechnicianUVO technicianUVO, String locale) {
         var existingTechnician = this.userValidationService.validateUserUpdate(id, technicianUVO.getUsername(),
                 TECHNICIAN_PREFIX, locale);
+        var previousUsername = existingTechnician.getUsername();
         boolean hasChanges = this.userValidationService.checkAndUpdateUserChanges(technicianUVO, existingTechnician);
 
         if (hasChanges) {
             this.saveTechnicianChanges(existingTechnician, locale);
+            this.userDetailsService.evictPrincipal(previousUsername);
         }
     }
 
@@ -99,6 +105,7 @@ public class UserTechnicianServiceImpl implements IUserTechnicianService {
         try {
             this.tokenServiceFacade.logoutByUserId(id, locale);
             this.userRepository.delete(existingTechnician);
+            this.userDetailsService.evictPrincipal(existingTechnician.getUsername());
         } catch (Exception e) {
             log.error("Error deleting technician", e);
             throw this.exceptionShortComponent.noDeletedException("technician.deleted.failed", locale);
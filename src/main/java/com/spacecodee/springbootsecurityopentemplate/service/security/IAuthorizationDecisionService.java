@@ -0,0 +1,15 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.AuthorizationDecisionBatch;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.AuthorizationQueryVO;
+
+import java.util.List;
+
+public interface IAuthorizationDecisionService {
+
+    /**
+     * Answers "may this user call this method and path" for every query, with the same rules as
+     * {@code CustomAuthorizationManager} but without replaying requests.
+     */
+    AuthorizationDecisionBatch decide(String locale, List<AuthorizationQueryVO> queries);
+}
@@ -1,11 +1,13 @@
 package com.spacecodee.springbootsecurityopentemplate.service.security;
 
 import com.spacecodee.springbootsecurityopentemplate.data.record.TokenClaims;
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.Map;
 
@@ -15,6 +17,25 @@ public interface IJwtProviderService {
 
     String buildToken(@NotNull TokenClaims tokenClaims);
 
+    /**
+     * Signs a new token and returns it together with the claims it carries, so callers do not have to parse
+     * the token they just built.
+     */
+    VerifiedToken issueToken(@NotNull TokenClaims tokenClaims);
+
+    /**
+     * Same as {@link #issueToken(TokenClaims)} with an explicit lifetime instead of the configured one.
+     */
+    VerifiedToken issueToken(@NotNull TokenClaims tokenClaims, @NotNull Duration lifetime);
+
+    /**
+     * Checks the signature and decodes the claims once. An expired but correctly signed token is returned with
+     * {@code expired} set instead of throwing.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is malformed or its signature does not match
+     */
+    VerifiedToken verify(String jwt);
+
     String extractUsername(String jwt);
 
     String extractUsernameFromRequest(HttpServletRequest request);
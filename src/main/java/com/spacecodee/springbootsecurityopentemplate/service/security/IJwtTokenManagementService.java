@@ -3,17 +3,39 @@ package com.spacecodee.springbootsecurityopentemplate.service.security;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.auth.SecurityJwtTokenDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.jwt.JwtTokenUVO;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface IJwtTokenManagementService {
 
     void saveToken(JwtTokenUVO token);
 
     void invalidateToken(String locale, String token);
 
+    /**
+     * Deletes a single-use token and reports whether this call removed it, so two concurrent callers presenting
+     * the same token cannot both succeed.
+     */
+    boolean consumeToken(String locale, String token);
+
     void invalidateUserTokens(String locale, Integer userId);
 
+    void invalidateUsersTokens(String locale, Collection<Integer> userIds);
+
     String findActiveTokenByUsername(String username);
 
+    List<String> findUserTokens(Integer userId);
+
     boolean existsToken(String locale, String token);
 
+    /**
+     * Batch form of {@link #existsToken}: answers from the token cache where possible and resolves every miss
+     * with a single query.
+     *
+     * @return the subset of {@code tokens} that is stored and not expired
+     */
+    Set<String> findStoredTokens(String locale, Collection<String> tokens);
+
     SecurityJwtTokenDTO getTokenDetails(String locale, String token);
 }
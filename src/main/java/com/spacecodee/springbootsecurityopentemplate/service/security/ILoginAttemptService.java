@@ -0,0 +1,16 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+public interface ILoginAttemptService {
+
+    /**
+     * Rejects a login for a locked username before any password is checked.
+     *
+     * @throws com.spacecodee.springbootsecurityopentemplate.exceptions.auth.LoginLockedException while the
+     *                                                                                            username is locked
+     */
+    void checkNotLocked(String locale, String username);
+
+    void loginFailed(String username);
+
+    void loginSucceeded(String username);
+}
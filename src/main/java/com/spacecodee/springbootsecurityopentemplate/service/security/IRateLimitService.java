@@ -0,0 +1,24 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+
+import java.net.InetAddress;
+
+public interface IRateLimitService {
+
+    /**
+     * Whether a rule matching this request is keyed by username, so the caller has to read it from the request.
+     */
+    boolean needsUsername(String httpMethod, String path);
+
+    /**
+     * Takes one token from every rule matching the request.
+     *
+     * @param path     request path without the context path
+     * @param clientIp may be {@code null} when the remote address is not an IP literal, IP rules are then skipped
+     * @param username may be {@code null}, rules keyed by username are then skipped
+     * @return the refused decision if any rule refused, otherwise the allowed decision with the fewest remaining
+     * tokens, or {@link RateLimitDecision#unlimited()} when no rule matches
+     */
+    RateLimitDecision tryAcquire(String httpMethod, String path, InetAddress clientIp, String username);
+}
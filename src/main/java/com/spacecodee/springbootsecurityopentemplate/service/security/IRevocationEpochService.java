@@ -0,0 +1,30 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+import java.util.Map;
+
+public interface IRevocationEpochService {
+
+    /**
+     * Claims that pin a new token to the current epochs of its user and role.
+     */
+    Map<String, Object> currentEpochClaims(int userId, int roleId);
+
+    /**
+     * @return {@code false} for tokens issued before epochs existed, which still need the token store check
+     */
+    boolean hasEpochClaims(Map<String, Object> claims);
+
+    /**
+     * @return {@code true} when the user or role epoch moved past the one the token was issued with
+     */
+    boolean isRevoked(Map<String, Object> claims);
+
+    void revokeUser(int userId);
+
+    void revokeRole(int roleId);
+
+    /**
+     * Pulls epochs changed since the last refresh, including bumps made by other instances.
+     */
+    void refresh();
+}
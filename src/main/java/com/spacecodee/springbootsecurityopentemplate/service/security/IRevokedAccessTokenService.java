@@ -0,0 +1,22 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+import java.time.Instant;
+
+public interface IRevokedAccessTokenService {
+
+    /**
+     * Denies the access token on every instance until it expires. The instance revoking it applies it on commit,
+     * the others on their next refresh.
+     */
+    void revoke(String accessToken, Instant expiresAt);
+
+    /**
+     * Answers from memory, so the request path never reads the table.
+     */
+    boolean isRevoked(String accessToken);
+
+    /**
+     * Pulls tokens revoked since the last refresh, including those revoked through other instances.
+     */
+    void refresh();
+}
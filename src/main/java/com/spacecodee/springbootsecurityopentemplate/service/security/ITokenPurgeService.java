@@ -0,0 +1,15 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenPurgeStats;
+
+public interface ITokenPurgeService {
+
+    /**
+     * Deletes expired tokens in bounded batches, each batch in its own short transaction.
+     *
+     * @return the statistics of this run
+     */
+    TokenPurgeStats purgeExpiredTokens();
+
+    TokenPurgeStats getStats();
+}
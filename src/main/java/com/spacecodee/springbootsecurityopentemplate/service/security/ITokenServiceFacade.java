@@ -1,9 +1,12 @@
 package com.spacecodee.springbootsecurityopentemplate.service.security;
 
 import com.spacecodee.springbootsecurityopentemplate.data.common.auth.AuthenticationResponsePojo;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
 import com.spacecodee.springbootsecurityopentemplate.data.record.TokenValidationResult;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
+
 public interface ITokenServiceFacade {
     AuthenticationResponsePojo authenticateUser(UserDetails user, String locale);
 
@@ -15,7 +18,21 @@ public interface ITokenServiceFacade {
 
     String refreshToken(String oldToken, UserDetails userDetails, String locale);
 
+    /**
+     * Validates a refresh token and deletes it so it cannot be exchanged twice. Presenting a refresh token that
+     * was already exchanged revokes every session of its owner.
+     *
+     * @return the username the refresh token was issued to
+     */
+    String consumeRefreshToken(String refreshToken, String locale);
+
     boolean isValidToken(String token, String locale);
 
+    /**
+     * Answers {@link #isValidToken} for many tokens at once, in request order. Split-mode access tokens are decided
+     * in memory and every other token is checked against the store with at most one query.
+     */
+    List<TokenIntrospectionResult> introspectTokens(List<String> tokens, String locale);
+
     String extractUsername(String token);
 }
@@ -0,0 +1,135 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsPermissionDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsRoleDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.AuthorizationDecisionBatch;
+import com.spacecodee.springbootsecurityopentemplate.data.record.AuthorizationDecisionResult;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.AuthorizationQueryVO;
+import com.spacecodee.springbootsecurityopentemplate.enums.AuthorizationDecisionReasonEnum;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.base.ObjectNotFoundException;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IAuthorizationDecisionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthorizationDecisionServiceImpl implements IAuthorizationDecisionService {
+
+    private final IOperationRouteService operationRouteService;
+    private final IOperationService operationService;
+    private final IUserDetailsService userDetailsService;
+
+    @Value("${app.api.context-path}")
+    private String contextPath;
+
+    @Override
+    public AuthorizationDecisionBatch decide(String locale, @NotNull List<AuthorizationQueryVO> queries) {
+        var start = System.nanoTime();
+
+        // Every distinct user is loaded once and every distinct role's permission set is built once
+        Map<String, Integer> roleIdByUsername = new HashMap<>();
+        Map<Integer, BitSet> operationIdsByRoleId = new HashMap<>();
+        for (AuthorizationQueryVO query : queries) {
+            if (!roleIdByUsername.containsKey(query.username())) {
+                roleIdByUsername.put(query.username(), this.resolveRoleId(locale, query.username(),
+                        operationIdsByRoleId));
+            }
+        }
+        var usersResolved = System.nanoTime();
+
+        List<AuthorizationDecisionResult> decisions = new ArrayList<>(queries.size());
+        for (AuthorizationQueryVO query : queries) {
+            var operationIds = operationIdsByRoleId.get(roleIdByUsername.get(query.username()));
+            decisions.add(this.decide(query, operationIds));
+        }
+        var end = System.nanoTime();
+
+        log.debug("Evaluated {} authorization queries for {} users and {} roles", queries.size(),
+                roleIdByUsername.size(), operationIdsByRoleId.size());
+        return new AuthorizationDecisionBatch(decisions, roleIdByUsername.size(), operationIdsByRoleId.size(),
+                toMicros(usersResolved - start), toMicros(end - usersResolved), toMicros(end - start));
+    }
+
+    private Integer resolveRoleId(String locale, String username, Map<Integer, BitSet> operationIdsByRoleId) {
+        UserDetailsRoleDTO role;
+        try {
+            role = this.userDetailsService.findByUsername(locale, username).getUserDetailsRoleDTO();
+        } catch (ObjectNotFoundException e) {
+            log.debug("Authorization query for unknown user {}", username);
+            return null;
+        }
+
+        if (role == null) {
+            return null;
+        }
+
+        operationIdsByRoleId.computeIfAbsent(role.getId(), id -> toOperationIds(role));
+        return role.getId();
+    }
+
+    private @NotNull AuthorizationDecisionResult decide(@NotNull AuthorizationQueryVO query,
+                                                        BitSet grantedOperationIds) {
+        var operationIds = this.operationRouteService.resolveOperationIds(query.method().toUpperCase(Locale.ROOT),
+                this.toRoutePath(query.path()));
+        if (operationIds.length == 0) {
+            return result(query, false, AuthorizationDecisionReasonEnum.UNKNOWN_OPERATION);
+        }
+
+        if (this.operationService.isPublicOperation(operationIds)) {
+            return result(query, true, AuthorizationDecisionReasonEnum.PUBLIC);
+        }
+
+        if (grantedOperationIds == null) {
+            return result(query, false, AuthorizationDecisionReasonEnum.UNKNOWN_USER);
+        }
+
+        for (int operationId : operationIds) {
+            if (grantedOperationIds.get(operationId)) {
+                return result(query, true, AuthorizationDecisionReasonEnum.GRANTED);
+            }
+        }
+        return result(query, false, AuthorizationDecisionReasonEnum.NOT_GRANTED);
+    }
+
+    /**
+     * Accepts the path with or without the context path and ignores any query string, like the request URI the
+     * authorization manager sees.
+     */
+    private @NotNull String toRoutePath(@NotNull String path) {
+        var queryStart = path.indexOf('?');
+        var routePath = queryStart < 0 ? path : path.substring(0, queryStart);
+        return routePath.startsWith(this.contextPath) ? routePath.substring(this.contextPath.length()) : routePath;
+    }
+
+    private static @NotNull BitSet toOperationIds(@NotNull UserDetailsRoleDTO role) {
+        var operationIds = new BitSet();
+        for (UserDetailsPermissionDTO permission : role.getUserDetailsPermissionDTOList()) {
+            operationIds.set(permission.getOperationDTO().getId());
+        }
+        return operationIds;
+    }
+
+    private static @NotNull AuthorizationDecisionResult result(@NotNull AuthorizationQueryVO query, boolean allowed,
+                                                                AuthorizationDecisionReasonEnum reason) {
+        return new AuthorizationDecisionResult(query.username(), query.method(), query.path(), allowed, reason);
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -1,13 +1,17 @@
 package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spacecodee.springbootsecurityopentemplate.data.record.TokenClaims;
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.jwt.Hs256JwtCodec;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -17,10 +21,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -29,9 +35,19 @@ public class JwtProviderServiceImpl implements IJwtProviderService {
 
     private final ExceptionShortComponent exceptionShortComponent;
 
+    /**
+     * Key material and parsers built once at startup. {@link JwtParser} instances are immutable and thread-safe,
+     * so every request shares them.
+     */
+    private SigningKeys signingKeys;
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
+    // Only verifies, see security.jwt.previous-secret-key in application.properties for the rotation steps
+    @Value("${security.jwt.previous-secret-key:}")
+    private String previousSecretKey;
+
     @Value("${security.jwt.expiration-in-minutes}")
     private long expirationInMinutes;
 
@@ -39,6 +55,15 @@ public class JwtProviderServiceImpl implements IJwtProviderService {
         this.exceptionShortComponent = exceptionShortComponent;
     }
 
+    @PostConstruct
+    void initSigningKeys() {
+        var previousKey = StringUtils.hasText(this.previousSecretKey) ? decodeKey(this.previousSecretKey) : null;
+        this.signingKeys = SigningKeys.of(decodeKey(this.secretKey), previousKey);
+        if (previousKey != null) {
+            log.info("JWT previous signing key configured, tokens signed with it keep verifying");
+        }
+    }
+
     @Override
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         if (userDetails == null) {
@@ -50,30 +75,57 @@ public class JwtProviderServiceImpl implements IJwtProviderService {
     }
 
     public String buildToken(@NotNull TokenClaims tokenClaims) {
-        var issuedAt = new Date(System.currentTimeMillis());
-        var expiration = new Date(System.currentTimeMillis() + (this.expirationInMinutes * 60 * 1000));
+        return this.issueToken(tokenClaims).token();
+    }
 
-        var builder = Jwts.builder()
-                .header()
-                .type("JWT")
-                .and()
-                .issuedAt(issuedAt) // Set new issuedAt
-                .expiration(expiration); // Set new expiration
+    @Override
+    public VerifiedToken issueToken(@NotNull TokenClaims tokenClaims) {
+        return this.issueToken(tokenClaims, Duration.ofMinutes(this.expirationInMinutes));
+    }
 
-        if (tokenClaims.subject() != null) {
-            builder.subject(tokenClaims.subject());
-        }
+    @Override
+    public VerifiedToken issueToken(@NotNull TokenClaims tokenClaims, @NotNull Duration lifetime) {
+        var lifetimeInSeconds = lifetime.toSeconds();
+
+        // JWT dates have second precision, the payload carries epoch seconds so the returned expiry matches exp
+        var nowInSeconds = System.currentTimeMillis() / 1000;
 
+        Map<String, Object> payload = new LinkedHashMap<>();
         if (tokenClaims.claims() != null) {
             // Remove date-related claims from old token
-            Map<String, Object> cleanedClaims = new HashMap<>(tokenClaims.claims());
-            cleanedClaims.remove("exp");
-            cleanedClaims.remove("iat");
+            payload.putAll(tokenClaims.claims());
+            payload.remove(Claims.EXPIRATION);
+            payload.remove(Claims.ISSUED_AT);
+        }
+        if (tokenClaims.subject() != null) {
+            payload.put(Claims.SUBJECT, tokenClaims.subject());
+        }
+        payload.put(Claims.ISSUED_AT, nowInSeconds);
+        payload.put(Claims.EXPIRATION, nowInSeconds + lifetimeInSeconds);
+
+        var token = this.signingKeys.codec().encode(payload);
+        return this.toVerifiedToken(token, payload);
+    }
+
+    @Override
+    public VerifiedToken verify(String jwt) {
+        if (!StringUtils.hasText(jwt)) {
+            throw new IllegalArgumentException("JWT String cannot be null or empty.");
+        }
 
-            builder.claims(cleanedClaims);
+        var keys = this.signingKeys;
+        Map<String, Object> claims;
+        try {
+            claims = keys.codec().decode(jwt);
+        } catch (SignatureException e) {
+            if (!keys.hasPrevious()) {
+                throw e;
+            }
+            claims = keys.previousCodec().decode(jwt);
         }
 
-        return builder.signWith(this.generateKey(), Jwts.SIG.HS256).compact();
+        // An expired but correctly signed token is still trustworthy for a refresh, the caller decides
+        return this.toVerifiedToken(jwt, claims);
     }
 
     @Override
@@ -113,28 +165,21 @@ public class JwtProviderServiceImpl implements IJwtProviderService {
 
     @Override
     public Claims extractClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(generateKey())
-                .build()
-                .parseSignedClaims(jwt)
-                .getPayload();
+        var keys = this.signingKeys;
+        try {
+            return keys.parser().parseSignedClaims(jwt).getPayload();
+        } catch (SignatureException e) {
+            if (!keys.hasPrevious()) {
+                throw e;
+            }
+            return keys.previousParser().parseSignedClaims(jwt).getPayload();
+        }
     }
 
     public Claims extractClaimsWithoutValidation(String jwt) {
         try {
-            String[] parts = jwt.split("\\.");
-            if (parts.length != 3) {
-                throw new IllegalArgumentException("Invalid JWT format");
-            }
-
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
-
-            ObjectMapper mapper = new ObjectMapper();
-            Map<String, Object> claimsMap = mapper.readValue(payload, new TypeReference<>() {
-            });
-
             return Jwts.claims()
-                    .add(claimsMap)
+                    .add(Hs256JwtCodec.decodeUnverified(jwt))
                     .build();
 
         } catch (Exception e) {
@@ -154,8 +199,42 @@ public class JwtProviderServiceImpl implements IJwtProviderService {
         }
     }
 
-    private @NotNull SecretKey generateKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+    private @NotNull VerifiedToken toVerifiedToken(String jwt, @NotNull Map<String, Object> claims) {
+        if (!(claims.get(Claims.EXPIRATION) instanceof Number exp)) {
+            throw new MalformedJwtException("JWT has no numeric exp claim");
+        }
+
+        var expiresAt = Instant.ofEpochSecond(exp.longValue());
+        return new VerifiedToken(jwt, claims.get(Claims.SUBJECT) instanceof String subject ? subject : null,
+                toInteger(claims.get("userId")), claims.get("role") instanceof String role ? role : null, expiresAt,
+                Collections.unmodifiableMap(claims), !Instant.now().isBefore(expiresAt));
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    private static @NotNull SecretKey decodeKey(String base64SecretKey) {
+        byte[] keyBytes = Base64.getDecoder().decode(base64SecretKey);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    /**
+     * Signing key plus, when configured, a previous key that only verifies. The codec serves the request path, the
+     * jjwt parser the remaining callers.
+     */
+    private record SigningKeys(Hs256JwtCodec codec, JwtParser parser, Hs256JwtCodec previousCodec,
+                               JwtParser previousParser) {
+
+        static @NotNull SigningKeys of(@NotNull SecretKey key, SecretKey previousKey) {
+            return previousKey == null
+                    ? new SigningKeys(new Hs256JwtCodec(key), Jwts.parser().verifyWith(key).build(), null, null)
+                    : new SigningKeys(new Hs256JwtCodec(key), Jwts.parser().verifyWith(key).build(),
+                    new Hs256JwtCodec(previousKey), Jwts.parser().verifyWith(previousKey).build());
+        }
+
+        boolean hasPrevious() {
+            return this.previousParser != null;
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
 
+import com.google.common.cache.Cache;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.auth.SecurityJwtTokenDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.ActiveTokenEntry;
 import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.jwt.JwtTokenUVO;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
@@ -8,11 +10,22 @@ import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IJwtTokenMapp
 import com.spacecodee.springbootsecurityopentemplate.persistence.entity.JwtTokenEntity;
 import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IJwtTokenRepository;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtTokenManagementService;
+import com.spacecodee.springbootsecurityopentemplate.utils.TokenDigestUtils;
+import com.spacecodee.springbootsecurityopentemplate.utils.TransactionUtils;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Slf4j
 @AllArgsConstructor
 @Service
@@ -21,12 +34,16 @@ public class JwtTokenManagementServiceImpl implements IJwtTokenManagementService
     private final IJwtTokenRepository jwtTokenRepository;
     private final IJwtTokenMapper jwtTokenMapper;
     private final ExceptionShortComponent exceptionComponent;
+    private final Cache<String, ActiveTokenEntry> activeTokenCache;
 
     @Override
     @Transactional
     public void saveToken(JwtTokenUVO token) {
         try {
             this.jwtTokenRepository.save(this.jwtTokenMapper.voToEntity(token));
+            var digest = TokenDigestUtils.sha256Hex(token.getToken());
+            var entry = new ActiveTokenEntry(token.getUserEntity().getId(), token.getExpiryDate().toInstant());
+            TransactionUtils.afterCommit(() -> this.activeTokenCache.put(digest, entry));
         } catch (Exception e) {
             log.error("Error saving token: {}", e.getMessage());
             throw this.exceptionComponent.cannotSaveException("token.save.failed", "en");
@@ -37,24 +54,62 @@ public class JwtTokenManagementServiceImpl implements IJwtTokenManagementService
     @Transactional
     public void invalidateToken(String locale, String token) {
         try {
-            this.jwtTokenRepository.deleteByToken(token);
+            var tokenHash = TokenDigestUtils.sha256(token);
+            var digest = TokenDigestUtils.toHex(tokenHash);
+            TransactionUtils.evictNowAndAfterCommit(() -> this.activeTokenCache.invalidate(digest));
+            this.jwtTokenRepository.deleteByTokenHash(tokenHash);
         } catch (Exception e) {
             log.error("Error invalidating token: {}", e.getMessage());
             throw this.exceptionComponent.tokenNotFoundException("token.not.delete", locale);
         }
     }
 
+    @Override
+    @Transactional
+    public boolean consumeToken(String locale, String token) {
+        try {
+            var tokenHash = TokenDigestUtils.sha256(token);
+            var digest = TokenDigestUtils.toHex(tokenHash);
+            TransactionUtils.evictNowAndAfterCommit(() -> this.activeTokenCache.invalidate(digest));
+            return this.jwtTokenRepository.deleteByTokenHash(tokenHash) > 0;
+        } catch (Exception e) {
+            log.error("Error consuming token: {}", e.getMessage());
+            throw this.exceptionComponent.tokenNotFoundException("token.not.delete", locale);
+        }
+    }
+
     @Override
     @Transactional
     public void invalidateUserTokens(String locale, Integer userId) {
         try {
-            this.jwtTokenRepository.deleteByUserEntityId(userId);
+            TransactionUtils.evictNowAndAfterCommit(() -> this.activeTokenCache.asMap().values()
+                    .removeIf(entry -> userId.equals(entry.userId())));
+            this.jwtTokenRepository.deleteAllByUserId(userId);
         } catch (Exception e) {
             log.error("Error invalidating user tokens: {}", e.getMessage());
             throw this.exceptionComponent.tokenNotFoundException("token.not.delete", locale);
         }
     }
 
+    @Override
+    @Transactional
+    public void invalidateUsersTokens(String locale, Collection<Integer> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            var ids = Set.copyOf(userIds);
+            TransactionUtils.evictNowAndAfterCommit(() -> this.activeTokenCache.asMap().values()
+                    .removeIf(entry -> ids.contains(entry.userId())));
+            var deleted = this.jwtTokenRepository.deleteAllByUserIdIn(ids);
+            log.debug("Invalidated {} tokens for {} users", deleted, ids.size());
+        } catch (Exception e) {
+            log.error("Error invalidating tokens of users {}: {}", userIds, e.getMessage());
+            throw this.exceptionComponent.tokenNotFoundException("token.not.delete", locale);
+        }
+    }
+
     @Override
     public String findActiveTokenByUsername(String username) {
         return this.jwtTokenRepository.findByUserEntity_Username(username)
@@ -62,10 +117,32 @@ public class JwtTokenManagementServiceImpl implements IJwtTokenManagementService
                 .orElse("");
     }
 
+    @Override
+    public List<String> findUserTokens(Integer userId) {
+        return this.jwtTokenRepository.findAllByUserId(userId).stream()
+                .map(JwtTokenEntity::getToken)
+                .toList();
+    }
+
     @Override
     public boolean existsToken(String locale, String token) {
         try {
-            return this.jwtTokenRepository.existsByToken(token);
+            var tokenHash = TokenDigestUtils.sha256(token);
+            var digest = TokenDigestUtils.toHex(tokenHash);
+            var cached = this.activeTokenCache.getIfPresent(digest);
+            if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                return true;
+            }
+
+            return this.jwtTokenRepository.findByTokenHash(tokenHash)
+                    .map(entity -> {
+                        if (entity.getExpiryDate().isAfter(Instant.now())) {
+                            this.activeTokenCache.put(digest,
+                                    new ActiveTokenEntry(entity.getUserEntity().getId(), entity.getExpiryDate()));
+                        }
+                        return true;
+                    })
+                    .orElse(false);
         } catch (TokenExpiredException e) {
             log.error("Error checking token existence: {}", e.getMessage());
             throw this.exceptionComponent.tokenNotFoundException("token.not.exists", locale);
@@ -75,9 +152,46 @@ public class JwtTokenManagementServiceImpl implements IJwtTokenManagementService
         }
     }
 
+    @Override
+    public Set<String> findStoredTokens(String locale, Collection<String> tokens) {
+        try {
+            var now = Instant.now();
+            Set<String> stored = new HashSet<>();
+            Map<String, String> missesByDigest = new HashMap<>();
+            List<byte[]> missedHashes = new ArrayList<>();
+            for (String token : tokens) {
+                var tokenHash = TokenDigestUtils.sha256(token);
+                var digest = TokenDigestUtils.toHex(tokenHash);
+                var cached = this.activeTokenCache.getIfPresent(digest);
+                if (cached != null && cached.expiresAt().isAfter(now)) {
+                    stored.add(token);
+                } else if (missesByDigest.putIfAbsent(digest, token) == null) {
+                    missedHashes.add(tokenHash);
+                }
+            }
+
+            if (missedHashes.isEmpty()) {
+                return stored;
+            }
+
+            for (JwtTokenEntity entity : this.jwtTokenRepository.findAllByTokenHashIn(missedHashes)) {
+                if (entity.getExpiryDate().isAfter(now)) {
+                    var digest = TokenDigestUtils.toHex(entity.getTokenHash());
+                    this.activeTokenCache.put(digest,
+                            new ActiveTokenEntry(entity.getUserEntity().getId(), entity.getExpiryDate()));
+                    stored.add(missesByDigest.get(digest));
+                }
+            }
+            return stored;
+        } catch (Exception e) {
+            log.error("Ups! something unexpected happened: {}", e.getMessage());
+            throw this.exceptionComponent.tokenUnexpectedException("token.unexpected.error", locale);
+        }
+    }
+
     @Override
     public SecurityJwtTokenDTO getTokenDetails(String locale, String token) {
-        return this.jwtTokenRepository.findByToken(token)
+        return this.jwtTokenRepository.findByTokenHash(TokenDigestUtils.sha256(token))
                 .map(this.jwtTokenMapper::toSecurityJwtTokenDTO)
                 .orElseThrow(() -> this.exceptionComponent.tokenNotFoundException("token.not.found", locale));
     }
@@ -0,0 +1,62 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.LoginFailureTable;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ILoginAttemptService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class LoginAttemptServiceImpl implements ILoginAttemptService {
+
+    private final LoginFailureTable loginFailureTable;
+    private final ExceptionShortComponent exceptionShortComponent;
+
+    public LoginAttemptServiceImpl(ExceptionShortComponent exceptionShortComponent,
+                                   @Value("${security.login-lockout.slots}") int slots,
+                                   @Value("${security.login-lockout.threshold}") int threshold,
+                                   @Value("${security.login-lockout.initial-lock-in-ms}") long initialLockInMs,
+                                   @Value("${security.login-lockout.maximum-lock-in-ms}") long maximumLockInMs,
+                                   @Value("${security.login-lockout.reset-after-in-ms}") long resetAfterInMs) {
+        this.exceptionShortComponent = exceptionShortComponent;
+        this.loginFailureTable = new LoginFailureTable(slots, threshold, initialLockInMs, maximumLockInMs,
+                resetAfterInMs);
+        log.info("Login lockout tracks up to {} usernames", this.loginFailureTable.capacity());
+    }
+
+    @Override
+    public void checkNotLocked(String locale, String username) {
+        if (username == null) {
+            return;
+        }
+
+        long lockedForMillis = this.loginFailureTable.lockedForMillis(username, System.currentTimeMillis());
+        if (lockedForMillis > 0) {
+            throw this.exceptionShortComponent.loginLockedException("auth.login.locked", locale, username,
+                    TimeUnit.MILLISECONDS.toSeconds(lockedForMillis + 999));
+        }
+    }
+
+    @Override
+    public void loginFailed(String username) {
+        if (username == null) {
+            return;
+        }
+
+        long lockedForMillis = this.loginFailureTable.recordFailure(username, System.currentTimeMillis());
+        if (lockedForMillis > 0) {
+            log.warn("Login for user {} locked for {} ms after repeated failures", username, lockedForMillis);
+        }
+    }
+
+    @Override
+    public void loginSucceeded(String username) {
+        if (username != null) {
+            this.loginFailureTable.recordSuccess(username);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IRateLimitStore;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.List;
+
+@Slf4j
+@Service
+public class RateLimitServiceImpl implements IRateLimitService {
+
+    private final List<RateLimitRule> rules;
+    private final IRateLimitStore rateLimitStore;
+
+    public RateLimitServiceImpl(List<RateLimitRule> rateLimitRules, IRateLimitStore rateLimitStore) {
+        this.rules = List.copyOf(rateLimitRules);
+        this.rateLimitStore = rateLimitStore;
+    }
+
+    @Override
+    public boolean needsUsername(String httpMethod, String path) {
+        for (RateLimitRule rule : this.rules) {
+            if (rule.needsUsername() && rule.matches(httpMethod, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String httpMethod, String path, InetAddress clientIp, String username) {
+        var decision = RateLimitDecision.unlimited();
+
+        for (RateLimitRule rule : this.rules) {
+            if (!rule.matches(httpMethod, path)) {
+                continue;
+            }
+
+            var ruleDecision = this.rateLimitStore.tryAcquire(rule, clientIp, username);
+            if (ruleDecision == null) {
+                continue;
+            }
+            if (!ruleDecision.allowed()) {
+                log.warn("Rate limit {} exceeded for client: {}, username: {}", rule.name(),
+                        clientIp != null ? InetAddresses.toAddrString(clientIp) : null, username);
+                return ruleDecision;
+            }
+            if (!decision.isLimited() || ruleDecision.remaining() < decision.remaining()) {
+                decision = ruleDecision;
+            }
+        }
+        return decision;
+    }
+}
@@ -0,0 +1,143 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.spacecodee.springbootsecurityopentemplate.enums.RevocationSubjectEnum;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RevocationEpochEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IRevocationEpochRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevocationEpochService;
+import com.spacecodee.springbootsecurityopentemplate.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory copy of the {@code revocation_epoch} table. Tokens embed the user and role epochs current when they
+ * were issued, so revoking every session of a user or role is a single row bump and validating a token needs no
+ * database access.
+ * <p>
+ * Epochs only grow, so merging a row keeps the highest value seen and applying the same row twice is harmless.
+ */
+@Slf4j
+@Service
+public class RevocationEpochServiceImpl implements IRevocationEpochService {
+
+    private static final String USER_EPOCH_CLAIM = "uep";
+    private static final String ROLE_ID_CLAIM = "rid";
+    private static final String ROLE_EPOCH_CLAIM = "rep";
+
+    private final IRevocationEpochRepository revocationEpochRepository;
+
+    private final ConcurrentMap<Integer, Long> userEpochs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Long> roleEpochs = new ConcurrentHashMap<>();
+    private volatile Instant lastUpdatedAt;
+
+    // Bumps committed out of updated_at order are still picked up as long as they land within this window
+    @Value("${security.revocation.refresh-overlap-in-ms:10000}")
+    private long refreshOverlapInMs;
+
+    public RevocationEpochServiceImpl(IRevocationEpochRepository revocationEpochRepository) {
+        this.revocationEpochRepository = revocationEpochRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        this.refresh();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-in-ms:5000}")
+    public synchronized void refresh() {
+        var since = this.lastUpdatedAt;
+        List<RevocationEpochEntity> changed = since == null
+                ? this.revocationEpochRepository.findAll()
+                : this.revocationEpochRepository.findByUpdatedAtAfter(since.minus(Duration.ofMillis(
+                this.refreshOverlapInMs)));
+
+        changed.forEach(this::merge);
+        var newest = changed.stream()
+                .map(RevocationEpochEntity::getUpdatedAt)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        if (since == null || newest.isAfter(since)) {
+            this.lastUpdatedAt = newest;
+        }
+    }
+
+    /**
+     * Reads both epochs from the database rather than the local copy, which can be a refresh interval behind: a
+     * token stamped with an epoch another instance already bumped would be rejected as soon as it is issued. The
+     * local map is left to the refresh, a row read here may belong to a bump that is not committed yet.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> currentEpochClaims(int userId, int roleId) {
+        return Map.of(
+                USER_EPOCH_CLAIM, this.currentEpoch(RevocationSubjectEnum.USER, userId, this.userEpochs),
+                ROLE_ID_CLAIM, roleId,
+                ROLE_EPOCH_CLAIM, this.currentEpoch(RevocationSubjectEnum.ROLE, roleId, this.roleEpochs));
+    }
+
+    @Override
+    public boolean hasEpochClaims(Map<String, Object> claims) {
+        return claims != null && claims.get(USER_EPOCH_CLAIM) instanceof Number
+                && claims.get(ROLE_ID_CLAIM) instanceof Number
+                && claims.get(ROLE_EPOCH_CLAIM) instanceof Number;
+    }
+
+    @Override
+    public boolean isRevoked(Map<String, Object> claims) {
+        if (!this.hasEpochClaims(claims) || !(claims.get("userId") instanceof Number userId)) {
+            return true;
+        }
+
+        var userEpoch = ((Number) claims.get(USER_EPOCH_CLAIM)).longValue();
+        var roleId = ((Number) claims.get(ROLE_ID_CLAIM)).intValue();
+        var roleEpoch = ((Number) claims.get(ROLE_EPOCH_CLAIM)).longValue();
+
+        return userEpoch < this.userEpochs.getOrDefault(userId.intValue(), 0L)
+                || roleEpoch < this.roleEpochs.getOrDefault(roleId, 0L);
+    }
+
+    @Override
+    @Transactional
+    public void revokeUser(int userId) {
+        this.bump(RevocationSubjectEnum.USER, userId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeRole(int roleId) {
+        this.bump(RevocationSubjectEnum.ROLE, roleId);
+    }
+
+    private void bump(RevocationSubjectEnum subjectType, int subjectId) {
+        this.revocationEpochRepository.bumpEpoch(subjectType.name(), subjectId);
+        var bumped = this.revocationEpochRepository.findBySubjectTypeAndSubjectId(subjectType, subjectId);
+        // Applied locally once the bump is committed, other instances catch up on their next refresh
+        TransactionUtils.afterCommit(() -> bumped.ifPresent(this::merge));
+        log.info("Revocation epoch bumped for {} {}", subjectType, subjectId);
+    }
+
+    private long currentEpoch(RevocationSubjectEnum subjectType, int subjectId, Map<Integer, Long> localEpochs) {
+        var stored = this.revocationEpochRepository.findBySubjectTypeAndSubjectId(subjectType, subjectId)
+                .map(RevocationEpochEntity::getEpoch)
+                .orElse(0L);
+        return Math.max(stored, localEpochs.getOrDefault(subjectId, 0L));
+    }
+
+    private void merge(RevocationEpochEntity entity) {
+        var epochs = entity.getSubjectType() == RevocationSubjectEnum.USER ? this.userEpochs : this.roleEpochs;
+        epochs.merge(entity.getSubjectId(), entity.getEpoch(), Math::max);
+    }
+}
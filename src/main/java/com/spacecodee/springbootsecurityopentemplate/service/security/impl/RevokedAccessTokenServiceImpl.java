@@ -0,0 +1,94 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.google.common.cache.Cache;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RevokedAccessTokenEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IRevokedAccessTokenRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevokedAccessTokenService;
+import com.spacecodee.springbootsecurityopentemplate.utils.TokenDigestUtils;
+import com.spacecodee.springbootsecurityopentemplate.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory copy of the {@code revoked_access_token} table, refreshed like the revocation epochs. A logout writes
+ * the row, so the access token is denied on every replica within a refresh interval instead of only on the one
+ * that served the logout.
+ */
+@Slf4j
+@Service
+public class RevokedAccessTokenServiceImpl implements IRevokedAccessTokenService {
+
+    private final IRevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final Cache<String, Boolean> revokedAccessTokenCache;
+
+    private volatile Instant lastRevokedAt;
+
+    // Revocations committed out of revoked_at order are still picked up as long as they land within this window
+    @Value("${security.revocation.refresh-overlap-in-ms:10000}")
+    private long refreshOverlapInMs;
+
+    public RevokedAccessTokenServiceImpl(IRevokedAccessTokenRepository revokedAccessTokenRepository,
+                                         Cache<String, Boolean> revokedAccessTokenCache) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.revokedAccessTokenCache = revokedAccessTokenCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        this.refresh();
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String accessToken, Instant expiresAt) {
+        var tokenHash = TokenDigestUtils.sha256(accessToken);
+        this.revokedAccessTokenRepository.insertIfAbsent(tokenHash, expiresAt);
+        var digest = TokenDigestUtils.toHex(tokenHash);
+        TransactionUtils.afterCommit(() -> this.revokedAccessTokenCache.put(digest, Boolean.TRUE));
+    }
+
+    @Override
+    public boolean isRevoked(String accessToken) {
+        return this.revokedAccessTokenCache.getIfPresent(TokenDigestUtils.sha256Hex(accessToken)) != null;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-in-ms:5000}")
+    public synchronized void refresh() {
+        var since = this.lastRevokedAt;
+        List<RevokedAccessTokenEntity> revoked = since == null
+                ? this.revokedAccessTokenRepository.findByExpiresAtAfter(Instant.now())
+                : this.revokedAccessTokenRepository.findByRevokedAtAfter(since.minus(Duration.ofMillis(
+                this.refreshOverlapInMs)));
+
+        // An entry lives an access token lifetime from now, longer than the revoked token has left
+        revoked.forEach(entity -> this.revokedAccessTokenCache.put(TokenDigestUtils.toHex(entity.getTokenHash()),
+                Boolean.TRUE));
+        var newest = revoked.stream()
+                .map(RevokedAccessTokenEntity::getRevokedAt)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        if (since == null || newest.isAfter(since)) {
+            this.lastRevokedAt = newest;
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${security.revocation.cleanup-interval-in-ms:60000}")
+    public void deleteExpired() {
+        var deleted = this.revokedAccessTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired revoked access tokens", deleted);
+        }
+    }
+}
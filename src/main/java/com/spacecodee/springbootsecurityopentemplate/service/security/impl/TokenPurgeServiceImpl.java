@@ -0,0 +1,127 @@
+package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenPurgeStats;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IJwtTokenRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenPurgeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Removes expired rows from {@code jwt_token} in the background, so the table no longer depends on owners
+ * logging in again to shrink.
+ * <p>
+ * Every batch runs in its own transaction with a local {@code lock_timeout} and skips rows locked by request
+ * threads, so a purge never holds locks for long or queues behind a logout. A run also stops once it has used
+ * its time budget, so it never occupies a scheduler thread for long; the rest waits for the next run.
+ */
+@Slf4j
+@Service
+public class TokenPurgeServiceImpl implements ITokenPurgeService {
+
+    private final IJwtTokenRepository jwtTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<TokenPurgeStats> lastStats =
+            new AtomicReference<>(new TokenPurgeStats(null, 0, 0, 0, 0, 0, 0));
+    private final AtomicLong totalPurged = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+
+    @Value("${security.jwt.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.jwt.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${security.jwt.purge.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${security.jwt.purge.max-run-duration-in-ms:5000}")
+    private long maxRunDurationInMs;
+
+    @Value("${security.jwt.purge.pause-between-batches-in-ms:100}")
+    private long pauseBetweenBatchesInMs;
+
+    @Value("${security.jwt.purge.lock-timeout-in-ms:2000}")
+    private long lockTimeoutInMs;
+
+    public TokenPurgeServiceImpl(IJwtTokenRepository jwtTokenRepository, TransactionTemplate transactionTemplate) {
+        this.jwtTokenRepository = jwtTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(initialDelayString = "${security.jwt.purge.initial-delay-in-ms:60000}",
+            fixedDelayString = "${security.jwt.purge.interval-in-ms:300000}")
+    public void scheduledPurge() {
+        if (this.enabled) {
+            this.purgeExpiredTokens();
+        }
+    }
+
+    @Override
+    public synchronized TokenPurgeStats purgeExpiredTokens() {
+        var cutoff = Instant.now();
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(this.maxRunDurationInMs);
+        var lockTimeout = this.lockTimeoutInMs + "ms";
+        long purged = 0;
+        int batches = 0;
+
+        try {
+            while (batches < this.maxBatchesPerRun) {
+                Integer deleted = this.transactionTemplate.execute(status -> {
+                    this.jwtTokenRepository.setLocalLockTimeout(lockTimeout);
+                    return this.jwtTokenRepository.deleteExpiredBatch(cutoff, this.batchSize);
+                });
+                batches++;
+                purged += deleted == null ? 0 : deleted;
+
+                if (deleted == null || deleted < this.batchSize || System.nanoTime() - deadlineNanos >= 0
+                        || !this.pause()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Expired token purge stopped after {} batches: {}", batches, e.getMessage());
+        }
+
+        var backlog = this.jwtTokenRepository.countByExpiryDateBefore(cutoff);
+        var durationInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        var stats = new TokenPurgeStats(cutoff, purged, batches, durationInMs, backlog,
+                this.totalPurged.addAndGet(purged), this.runs.incrementAndGet());
+        this.lastStats.set(stats);
+
+        if (purged > 0) {
+            log.info("Purged {} expired tokens in {} batches ({} ms), {} still pending", purged, batches,
+                    durationInMs, backlog);
+        }
+        return stats;
+    }
+
+    @Override
+    public TokenPurgeStats getStats() {
+        return this.lastStats.get();
+    }
+
+    private boolean pause() {
+        if (this.pauseBetweenBatchesInMs <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(this.pauseBetweenBatchesInMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
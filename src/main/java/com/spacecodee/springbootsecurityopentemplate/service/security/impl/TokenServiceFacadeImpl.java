@@ -1,38 +1,92 @@
 package com.spacecodee.springbootsecurityopentemplate.service.security.impl;
 
+import com.google.common.cache.Cache;
 import com.spacecodee.springbootsecurityopentemplate.data.common.auth.AuthenticationResponsePojo;
 import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
 import com.spacecodee.springbootsecurityopentemplate.data.record.TokenClaims;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenIntrospectionResult;
 import com.spacecodee.springbootsecurityopentemplate.data.record.TokenValidationResult;
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
 import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
 import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IJwtTokenMapper;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtTokenManagementService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevocationEpochService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevokedAccessTokenService;
 import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
+import com.spacecodee.springbootsecurityopentemplate.utils.TokenDigestUtils;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenServiceFacadeImpl implements ITokenServiceFacade {
+    private static final long REFRESH_WAIT_TIMEOUT_IN_SECONDS = 5;
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String ACCESS_TOKEN_USE = "access";
+    private static final String REFRESH_TOKEN_USE = "refresh";
+    // Carried by a split-mode access token, equal to the jti of the refresh token issued with it
+    private static final String SESSION_ID_CLAIM = "sid";
+    private static final String AUTHORITIES_CLAIM = "authorities";
+    // Authorities as a versioned operation-id bitset, see AuthorityDictionary
+    private static final String AUTHORITY_BITS_CLAIM = "auth";
+
     private final IJwtProviderService jwtProviderService;
     private final IJwtTokenManagementService tokenManagementService;
     private final IJwtTokenMapper jwtTokenMapper;
     private final ExceptionShortComponent exceptionShortComponent;
+    private final Cache<String, TokenValidationResult> refreshedTokenCache;
+    private final IRevocationEpochService revocationEpochService;
+    private final IRevokedAccessTokenService revokedAccessTokenService;
+    private final IUserDetailsService userDetailsService;
+    private final IOperationRouteService operationRouteService;
+
+    // One pending refresh per old token digest, concurrent requests carrying that token wait on it
+    private final ConcurrentMap<String, CompletableFuture<TokenValidationResult>> inFlightRefreshes =
+            new ConcurrentHashMap<>();
+
+    /**
+     * In split-token mode login returns a short-lived access token that is verified in memory by signature, epoch and
+     * the logout denylist, plus a long-lived refresh token that is the only one stored in {@code jwt_token}.
+     */
+    @Value("${security.jwt.split-tokens.enabled:false}")
+    private boolean splitTokensEnabled;
+
+    @Value("${security.jwt.access-token.expiration-in-minutes:5}")
+    private long accessTokenExpirationInMinutes;
+
+    @Value("${security.jwt.refresh-token.expiration-in-minutes:10080}")
+    private long refreshTokenExpirationInMinutes;
 
     @Override
     public AuthenticationResponsePojo authenticateUser(UserDetails userDetails, String locale) {
@@ -41,6 +95,10 @@ public class TokenServiceFacadeImpl implements ITokenServiceFacade {
             throw this.exceptionShortComponent.invalidParameterException("auth.user.null", locale);
         }
 
+        if (this.splitTokensEnabled) {
+            return this.issueTokenPair((UserDetailsDTO) userDetails);
+        }
+
         var existingToken = this.tokenManagementService.findActiveTokenByUsername(userDetails.getUsername());
         if (StringUtils.hasText(existingToken)) {
             try {
@@ -53,23 +111,29 @@ public class TokenServiceFacadeImpl implements ITokenServiceFacade {
         }
 
         UserDetailsDTO userDetailsDTO = (UserDetailsDTO) userDetails;
-        String token = jwtProviderService.generateToken(userDetails, this.generateExtraClaims(userDetailsDTO));
-        var expiry = jwtProviderService.extractExpiration(token);
+        var issued = jwtProviderService.issueToken(
+                new TokenClaims(userDetails.getUsername(), this.generateExtraClaims(userDetailsDTO)));
 
         tokenManagementService.saveToken(
-                jwtTokenMapper.toUVO(token, expiry, (int) userDetailsDTO.getId()));
+                jwtTokenMapper.toUVO(issued.token(), Date.from(issued.expiresAt()), (int) userDetailsDTO.getId()));
 
-        return new AuthenticationResponsePojo(token);
+        return new AuthenticationResponsePojo(issued.token());
     }
 
     @Override
     public void logout(String token, String locale) {
+        // Only the presented token ends, the user's sessions on other devices stay signed in
         this.tokenManagementService.invalidateToken(locale, token);
+        if (this.splitTokensEnabled) {
+            this.revokeAccessTokenSession(token, locale);
+        }
     }
 
     @Override
     public void logoutByUserId(Integer userId, String locale) {
         try {
+            this.revocationEpochService.revokeUser(userId);
+            // Rows still go so login does not hand back a revoked token and the user can be deleted
             this.tokenManagementService.invalidateUserTokens(locale, userId);
         } catch (Exception e) {
             log.error("Error invalidating tokens for user {}: {}", userId, e.getMessage());
@@ -79,9 +143,10 @@ public class TokenServiceFacadeImpl implements ITokenServiceFacade {
 
     private void deleteExpiredToken(String token, String locale) {
         try {
-            if (!jwtProviderService.isTokenValid(token)) {
-                // Token is invalid/expired, so delete it
-                log.info("Token is expired, deleting it");
+            var verifiedToken = jwtProviderService.verify(token);
+            if (verifiedToken.expired() || this.isRevoked(verifiedToken)) {
+                // Token is expired or its epoch was revoked, so delete it
+                log.info("Token is expired or revoked, deleting it");
                 this.tokenManagementService.invalidateToken(locale, token);
                 throw new TokenExpiredException("token.expired", locale);
             }
@@ -89,7 +154,7 @@ public class TokenServiceFacadeImpl implements ITokenServiceFacade {
             log.debug("Token is still valid");
         } catch (TokenExpiredException e) {
             throw e; // Propagate the exception
-        } catch (SignatureException | MalformedJwtException | UnsupportedJwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid token structure: {}", e.getMessage());
             this.tokenManagementService.invalidateToken(locale, token);
             throw new TokenExpiredException("token.inValid", locale);
@@ -101,77 +166,373 @@ public class TokenServiceFacadeImpl implements ITokenServiceFacade {
 
     @Override
     public TokenValidationResult validateAndRefreshToken(String token, String locale) {
-        var tokenExists = this.tokenManagementService.existsToken(locale, token);
-
-        if (!tokenExists) {
-            log.info("Token does not exist in database, we can't let you continue");
-            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        var digest = TokenDigestUtils.sha256Hex(token);
+        var coalesced = this.findCoalescedRefresh(digest, locale);
+        if (coalesced != null) {
+            return coalesced;
         }
 
+        VerifiedToken verifiedToken;
         try {
-            if (jwtProviderService.isTokenValid(token)) {
-                return new TokenValidationResult(token, false);
-            }
-
-            throw new TokenExpiredException("token.expired", locale);
-        } catch (TokenExpiredException | SignatureException | MalformedJwtException | UnsupportedJwtException e) {
+            verifiedToken = this.jwtProviderService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            this.requireStoredToken(digest, token, locale);
             log.info("JWT validation failed, deleting token: {}", e.getMessage());
-            var expiredClaims = this.jwtProviderService.extractClaimsWithoutValidation(token);
-            return this.handleExpiredToken(token, expiredClaims, locale);
+            var unverifiedClaims = this.jwtProviderService.extractClaimsWithoutValidation(token);
+            return this.refreshOnce(digest, token, unverifiedClaims, locale);
         } catch (Exception e) {
             log.error("Unexpected error validating token: {}", e.getMessage());
             throw this.exceptionShortComponent.tokenInvalidException("token.inValid", locale);
         }
+
+        var tokenUse = verifiedToken.claims().get(TOKEN_USE_CLAIM);
+        if (REFRESH_TOKEN_USE.equals(tokenUse)) {
+            log.info("Refresh token presented as a bearer token, we can't let you continue");
+            throw this.exceptionShortComponent.tokenInvalidException("token.inValid", locale);
+        }
+
+        if (this.isRevoked(verifiedToken)) {
+            log.info("Token was revoked by an epoch bump, we can't let you continue");
+            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        }
+
+        if (ACCESS_TOKEN_USE.equals(tokenUse)) {
+            // Access tokens are never stored, only a logout can have revoked one before it expires
+            if (this.revokedAccessTokenService.isRevoked(token)) {
+                log.info("Access token was logged out, we can't let you continue");
+                throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+            }
+        } else {
+            // Stored tokens still need their row, that is how logout revokes a single one
+            this.requireStoredToken(digest, token, locale);
+        }
+
+        if (!verifiedToken.expired()) {
+            return new TokenValidationResult(token, false, verifiedToken);
+        }
+
+        if (ACCESS_TOKEN_USE.equals(tokenUse)) {
+            // Access tokens are never stored, the client exchanges its refresh token at /auth/refresh-token
+            throw this.exceptionShortComponent.tokenExpiredException("token.access.expired", locale);
+        }
+
+        log.info("JWT expired, deleting token and issuing a new one");
+        return this.refreshOnce(digest, token, verifiedToken.claims(), locale);
     }
 
     @Override
     public String refreshToken(String oldToken, UserDetails userDetails, String locale) {
-        Claims claims = jwtProviderService.extractClaims(oldToken);
-        String newToken = jwtProviderService.generateToken(userDetails, claims);
-        var expiry = jwtProviderService.extractExpiration(newToken);
+        var presented = this.splitTokensEnabled ? null : this.verifyQuietly(oldToken);
+        // The refresh endpoint is public, so the presented token has to prove itself here. It may have expired,
+        // but its row must still be stored and is consumed so the same token cannot be refreshed twice
+        if (presented == null || REFRESH_TOKEN_USE.equals(presented.claims().get(TOKEN_USE_CLAIM))
+                || this.isRevoked(presented) || !this.tokenManagementService.consumeToken(locale, oldToken)) {
+            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        }
 
-        tokenManagementService.invalidateToken(locale, oldToken);
-        tokenManagementService
-                .saveToken(jwtTokenMapper.toUVO(newToken, expiry, (int) ((UserDetailsDTO) userDetails).getId()));
+        var issued = jwtProviderService.issueToken(new TokenClaims(userDetails.getUsername(),
+                this.generateExtraClaims((UserDetailsDTO) userDetails)));
 
-        return newToken;
+        tokenManagementService.saveToken(jwtTokenMapper.toUVO(issued.token(), Date.from(issued.expiresAt()),
+                (int) ((UserDetailsDTO) userDetails).getId()));
+
+        return issued.token();
+    }
+
+    @Override
+    public String consumeRefreshToken(String refreshToken, String locale) {
+        VerifiedToken presented;
+        try {
+            presented = this.jwtProviderService.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid refresh token: {}", e.getMessage());
+            throw this.exceptionShortComponent.tokenInvalidException("token.inValid", locale);
+        }
+
+        if (!REFRESH_TOKEN_USE.equals(presented.claims().get(TOKEN_USE_CLAIM))) {
+            throw this.exceptionShortComponent.tokenInvalidException("token.inValid", locale);
+        }
+
+        if (presented.expired()) {
+            this.tokenManagementService.invalidateToken(locale, refreshToken);
+            throw this.exceptionShortComponent.tokenExpiredException("token.expired", locale);
+        }
+
+        if (this.isRevoked(presented)) {
+            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        }
+
+        if (!this.tokenManagementService.consumeToken(locale, refreshToken)) {
+            // A correctly signed refresh token that is gone was already rotated, someone replayed it
+            log.warn("Refresh token reuse detected for user {}, revoking all of its sessions", presented.userId());
+            if (presented.userId() != null) {
+                this.logoutByUserId(presented.userId(), locale);
+            }
+            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        }
+
+        return presented.subject();
     }
 
     @Override
     public boolean isValidToken(String token, String locale) {
-        return tokenManagementService.existsToken(locale, token) &&
-                jwtProviderService.isTokenValid(token);
+        try {
+            var verifiedToken = jwtProviderService.verify(token);
+            if (verifiedToken.expired()) {
+                return false;
+            }
+
+            if (this.isRevoked(verifiedToken)) {
+                return false;
+            }
+
+            return ACCESS_TOKEN_USE.equals(verifiedToken.claims().get(TOKEN_USE_CLAIM))
+                    ? !this.revokedAccessTokenService.isRevoked(token)
+                    : tokenManagementService.existsToken(locale, token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token is not valid: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public List<TokenIntrospectionResult> introspectTokens(List<String> tokens, String locale) {
+        var verifiedTokens = new VerifiedToken[tokens.size()];
+        List<String> needStoreCheck = new ArrayList<>();
+        for (int i = 0; i < verifiedTokens.length; i++) {
+            var verifiedToken = this.verifyQuietly(tokens.get(i));
+            if (verifiedToken == null || verifiedToken.expired()
+                    || REFRESH_TOKEN_USE.equals(verifiedToken.claims().get(TOKEN_USE_CLAIM))
+                    || this.isRevoked(verifiedToken)) {
+                continue;
+            }
+
+            if (ACCESS_TOKEN_USE.equals(verifiedToken.claims().get(TOKEN_USE_CLAIM))) {
+                if (!this.revokedAccessTokenService.isRevoked(verifiedToken.token())) {
+                    verifiedTokens[i] = verifiedToken;
+                }
+            } else {
+                verifiedTokens[i] = verifiedToken;
+                needStoreCheck.add(verifiedToken.token());
+            }
+        }
+
+        var stored = needStoreCheck.isEmpty()
+                ? Set.<String>of()
+                : this.tokenManagementService.findStoredTokens(locale, needStoreCheck);
+
+        List<TokenIntrospectionResult> results = new ArrayList<>(verifiedTokens.length);
+        for (VerifiedToken verifiedToken : verifiedTokens) {
+            var active = verifiedToken != null
+                    && (ACCESS_TOKEN_USE.equals(verifiedToken.claims().get(TOKEN_USE_CLAIM))
+                    || stored.contains(verifiedToken.token()));
+            results.add(active
+                    ? TokenIntrospectionResult.active(verifiedToken, this.authorityNames(verifiedToken))
+                    : TokenIntrospectionResult.inactive());
+        }
+        return results;
     }
 
     @Override
     public String extractUsername(String token) {
-        return this.jwtProviderService.extractUsername(token);
+        // Signature checked but expiry tolerated, the legacy refresh reads the owner of an expired token
+        return this.jwtProviderService.verify(token).subject();
+    }
+
+    private void requireStoredToken(String digest, String token, String locale) {
+        if (this.tokenManagementService.existsToken(locale, token)) {
+            return;
+        }
+
+        // The row may have just been replaced by a refresh that finished after the coalescing lookup
+        if (this.refreshedTokenCache.getIfPresent(digest) == null) {
+            log.info("Token does not exist in database, we can't let you continue");
+            throw this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", locale);
+        }
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        try {
+            return StringUtils.hasText(token) ? this.jwtProviderService.verify(token) : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Introspected token is not valid: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isRevoked(@NotNull VerifiedToken verifiedToken) {
+        return this.revocationEpochService.hasEpochClaims(verifiedToken.claims())
+                && this.revocationEpochService.isRevoked(verifiedToken.claims());
+    }
+
+    /**
+     * Ends the login a split-mode access token belongs to: the access token is denied until it expires and the
+     * refresh token issued with it, found by the session id, is deleted so it cannot mint another one.
+     */
+    private void revokeAccessTokenSession(String accessToken, String locale) {
+        var presented = this.verifyQuietly(accessToken);
+        if (presented == null || !ACCESS_TOKEN_USE.equals(presented.claims().get(TOKEN_USE_CLAIM))) {
+            return;
+        }
+
+        this.revokedAccessTokenService.revoke(accessToken, presented.expiresAt());
+        var sessionId = presented.claims().get(SESSION_ID_CLAIM);
+        if (sessionId == null || presented.userId() == null) {
+            return;
+        }
+
+        for (String storedToken : this.tokenManagementService.findUserTokens(presented.userId())) {
+            var stored = this.verifyQuietly(storedToken);
+            if (stored != null && sessionId.equals(stored.claims().get(Claims.ID))) {
+                this.tokenManagementService.invalidateToken(locale, storedToken);
+            }
+        }
+    }
+
+    /**
+     * Returns the result of a refresh of this token that is running or finished within the grace period, or
+     * {@code null} when the token has not been refreshed.
+     */
+    private TokenValidationResult findCoalescedRefresh(String digest, String locale) {
+        var refreshed = this.refreshedTokenCache.getIfPresent(digest);
+        if (refreshed != null) {
+            return refreshed;
+        }
+
+        var inFlight = this.inFlightRefreshes.get(digest);
+        return inFlight == null ? null : this.awaitRefresh(inFlight, locale);
+    }
+
+    /**
+     * Runs {@link #handleExpiredToken} at most once per old token. The first caller refreshes, callers arriving
+     * meanwhile wait for its result and later stragglers read it from the grace cache.
+     */
+    private TokenValidationResult refreshOnce(String digest, String token, Map<String, Object> claims,
+                                              String locale) {
+        var refresh = new CompletableFuture<TokenValidationResult>();
+        var inFlight = this.inFlightRefreshes.putIfAbsent(digest, refresh);
+        if (inFlight != null) {
+            return this.awaitRefresh(inFlight, locale);
+        }
+
+        try {
+            // A refresh that completed between our existence check and here has already replaced the token
+            var refreshed = this.refreshedTokenCache.getIfPresent(digest);
+            var result = refreshed != null ? refreshed : this.handleExpiredToken(token, claims, locale);
+            // Publish to the grace cache before leaving the in-flight map so no caller sees neither
+            this.refreshedTokenCache.put(digest, result);
+            refresh.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlightRefreshes.remove(digest, refresh);
+        }
+    }
+
+    private TokenValidationResult awaitRefresh(@NotNull CompletableFuture<TokenValidationResult> refresh,
+                                               String locale) {
+        try {
+            return refresh.get(REFRESH_WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw this.exceptionShortComponent.tokenExpiredException("token.refresh.failed", locale);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw this.exceptionShortComponent.tokenExpiredException("token.refresh.failed", locale);
+        } catch (TimeoutException e) {
+            log.warn("Timed out waiting for a concurrent token refresh");
+            throw this.exceptionShortComponent.tokenExpiredException("token.refresh.failed", locale);
+        }
     }
 
     @Contract("_, _, _ -> new")
-    private @NotNull TokenValidationResult handleExpiredToken(String jwt, Claims claims, String locale) {
+    private @NotNull TokenValidationResult handleExpiredToken(String jwt, Map<String, Object> claims, String locale) {
         try {
             // Delete expired token
             this.tokenManagementService.invalidateToken(locale, jwt);
             log.info("Token deleted successfully");
-            // Generate a new token with existing claims using buildToken
-            String newToken = jwtProviderService.buildToken(new TokenClaims(null, claims));
-            var expiry = jwtProviderService.extractExpiration(newToken);
+            // Claims are generated again from the current user, copying the old ones would carry stale authorities
+            var username = (String) claims.get(Claims.SUBJECT);
+            var userDetails = this.userDetailsService.findByUsername(locale, username);
+            var issued = jwtProviderService.issueToken(
+                    new TokenClaims(username, this.generateExtraClaims(userDetails)));
 
-            var saveVO = jwtTokenMapper.toUVO(newToken, expiry, (int) claims.get("userId"));
+            var saveVO = jwtTokenMapper.toUVO(issued.token(), Date.from(issued.expiresAt()), issued.userId());
             this.tokenManagementService.saveToken(saveVO);
-            return new TokenValidationResult(newToken, true);
+            return new TokenValidationResult(issued.token(), true, issued);
         } catch (Exception e) {
             log.error("Error refreshing token", e);
             throw this.exceptionShortComponent.tokenExpiredException("token.refresh.failed", locale);
         }
     }
 
-    private @NotNull @UnmodifiableView Map<String, Object> generateExtraClaims(@NotNull UserDetailsDTO userDetailsDTO) {
-        return Map.of(
-                "userId", userDetailsDTO.getId(),
-                "name", userDetailsDTO.getName(),
-                "role", userDetailsDTO.getUserDetailsRoleDTO().getName(),
-                "authorities", userDetailsDTO.getAuthorities());
+    private @NotNull AuthenticationResponsePojo issueTokenPair(@NotNull UserDetailsDTO userDetailsDTO) {
+        var claims = this.generateExtraClaims(userDetailsDTO);
+        var sessionId = UUID.randomUUID().toString();
+
+        var accessClaims = new HashMap<>(claims);
+        accessClaims.put(TOKEN_USE_CLAIM, ACCESS_TOKEN_USE);
+        accessClaims.put(SESSION_ID_CLAIM, sessionId);
+        var access = this.jwtProviderService.issueToken(new TokenClaims(userDetailsDTO.getUsername(), accessClaims),
+                Duration.ofMinutes(this.accessTokenExpirationInMinutes));
+
+        // The refresh token only identifies the user, authorities are reloaded when it is exchanged
+        Map<String, Object> refreshClaims = new HashMap<>(this.revocationEpochService.currentEpochClaims(
+                (int) userDetailsDTO.getId(), userDetailsDTO.getUserDetailsRoleDTO().getId()));
+        refreshClaims.put("userId", userDetailsDTO.getId());
+        refreshClaims.put(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE);
+        refreshClaims.put(Claims.ID, sessionId);
+        var refresh = this.jwtProviderService.issueToken(
+                new TokenClaims(userDetailsDTO.getUsername(), refreshClaims),
+                Duration.ofMinutes(this.refreshTokenExpirationInMinutes));
+
+        this.tokenManagementService.saveToken(this.jwtTokenMapper.toUVO(refresh.token(),
+                Date.from(refresh.expiresAt()), (int) userDetailsDTO.getId()));
+
+        return new AuthenticationResponsePojo(access.token(), refresh.token());
+    }
+
+    private @NotNull Map<String, Object> generateExtraClaims(@NotNull UserDetailsDTO userDetailsDTO) {
+        var role = userDetailsDTO.getUserDetailsRoleDTO();
+        Map<String, Object> claims = new HashMap<>(this.revocationEpochService.currentEpochClaims(
+                (int) userDetailsDTO.getId(), role.getId()));
+        claims.put("userId", userDetailsDTO.getId());
+        claims.put("name", userDetailsDTO.getName());
+        claims.put("role", role.getName());
+        // The list is only kept when it holds a tag the dictionary does not know yet, so none is silently dropped
+        var authorities = userDetailsDTO.getAuthorities();
+        var encoded = this.operationRouteService.authorityDictionary().encode(authorities);
+        if (encoded != null) {
+            claims.put(AUTHORITY_BITS_CLAIM, encoded);
+        } else {
+            claims.put(AUTHORITIES_CLAIM, authorities);
+        }
+        return claims;
+    }
+
+    /**
+     * Authority names a token carries, read back from the bitset or from the plain list of tokens that have one.
+     *
+     * @return {@code null} when the bitset covers an operation renamed or deleted since the token was issued
+     */
+    private @Nullable List<String> authorityNames(@NotNull VerifiedToken verifiedToken) {
+        var claims = verifiedToken.claims();
+        if (claims.get(AUTHORITY_BITS_CLAIM) instanceof String encoded) {
+            var decoded = this.operationRouteService.authorityDictionary().decode(encoded, verifiedToken.role());
+            return decoded == null ? null : decoded.stream().map(GrantedAuthority::getAuthority).toList();
+        }
+
+        if (claims.get(AUTHORITIES_CLAIM) instanceof Collection<?> authorities) {
+            return authorities.stream()
+                    .map(authority -> authority instanceof Map<?, ?> map ? map.get("authority") : authority)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .toList();
+        }
+        return List.of();
     }
 }
@@ -0,0 +1,35 @@
+package com.spacecodee.springbootsecurityopentemplate.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class TokenDigestUtils {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private TokenDigestUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static byte @NotNull [] sha256(@NotNull String token) {
+        return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static @NotNull String sha256Hex(@NotNull String token) {
+        return toHex(sha256(token));
+    }
+
+    public static @NotNull String toHex(byte @NotNull [] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
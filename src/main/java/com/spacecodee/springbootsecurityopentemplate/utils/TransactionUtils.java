@@ -0,0 +1,39 @@
+package com.spacecodee.springbootsecurityopentemplate.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, or right away when there is none. A rollback
+     * skips it, so in-memory state never reflects a write the database does not have.
+     */
+    public static void afterCommit(@NotNull Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs a cache eviction right away and once more after the commit, so a concurrent reader that loaded the
+     * row before the commit cannot put the old value back for the rest of its lifetime.
+     */
+    public static void evictNowAndAfterCommit(@NotNull Runnable eviction) {
+        eviction.run();
+        afterCommit(eviction);
+    }
+}
@@ -0,0 +1,31 @@
+--
+-- Moves jwt_token lookups from the unbounded token text to a fixed-width SHA-256 digest.
+-- Apply once on databases created from a full_backup.sql older than the token_hash column.
+-- The index builds use CONCURRENTLY, so run the script outside an explicit transaction block.
+--
+
+ALTER TABLE public.jwt_token ADD COLUMN IF NOT EXISTS token_hash bytea;
+
+UPDATE public.jwt_token
+SET token_hash = sha256(convert_to(token, 'UTF8'))
+WHERE token_hash IS NULL;
+
+-- Rows sharing a token can only be leftovers of a duplicated save, keep the newest one
+DELETE FROM public.jwt_token t
+USING public.jwt_token newer
+WHERE t.token_hash = newer.token_hash
+  AND t.id < newer.id;
+
+ALTER TABLE public.jwt_token ALTER COLUMN token_hash SET NOT NULL;
+
+ALTER TABLE public.jwt_token
+    ADD CONSTRAINT jwt_token_token_hash_length CHECK ((octet_length(token_hash) = 32));
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS jwt_token_token_hash_key ON public.jwt_token USING btree (token_hash);
+
+ALTER TABLE public.jwt_token
+    ADD CONSTRAINT jwt_token_token_hash_key UNIQUE USING INDEX jwt_token_token_hash_key;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS jwt_token_expiry_date_idx ON public.jwt_token USING btree (expiry_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS jwt_token_user_id_idx ON public.jwt_token USING btree (user_id);
@@ -0,0 +1,26 @@
+--
+-- Per-user and per-role revocation epochs. Tokens carry the epochs current when they were issued and are
+-- rejected once either epoch moves past them.
+--
+
+CREATE SEQUENCE IF NOT EXISTS public.revocation_epoch_id_seq
+    AS integer
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 1;
+
+CREATE TABLE IF NOT EXISTS public.revocation_epoch (
+    id integer NOT NULL DEFAULT nextval('public.revocation_epoch_id_seq'::regclass),
+    subject_type character varying NOT NULL,
+    subject_id integer NOT NULL,
+    epoch bigint NOT NULL,
+    updated_at timestamp without time zone NOT NULL,
+    CONSTRAINT revocation_epoch_pk PRIMARY KEY (id),
+    CONSTRAINT revocation_epoch_subject_key UNIQUE (subject_type, subject_id)
+);
+
+ALTER SEQUENCE public.revocation_epoch_id_seq OWNED BY public.revocation_epoch.id;
+
+CREATE INDEX IF NOT EXISTS revocation_epoch_updated_at_idx ON public.revocation_epoch USING btree (updated_at);
@@ -0,0 +1,6 @@
+--
+-- The refresh endpoint authenticates the token it receives itself, so a client whose access token already
+-- expired can still reach it.
+--
+
+UPDATE public.operation SET permit_all = true WHERE tag = 'REFRESH_TOKEN';
@@ -0,0 +1,13 @@
+--
+-- Token buckets shared between replicas when security.rate-limit.store=postgres. Each row holds the instant, in
+-- epoch microseconds, at which the bucket is full again. The table is UNLOGGED: losing it on a crash only resets
+-- the limits, and skipping the WAL keeps the frequent upserts cheap.
+--
+
+CREATE UNLOGGED TABLE IF NOT EXISTS public.rate_limit_bucket (
+    bucket_key character varying NOT NULL,
+    theoretical_arrival_micros bigint NOT NULL,
+    CONSTRAINT rate_limit_bucket_pk PRIMARY KEY (bucket_key)
+);
+
+CREATE INDEX IF NOT EXISTS rate_limit_bucket_arrival_idx ON public.rate_limit_bucket USING btree (theoretical_arrival_micros);
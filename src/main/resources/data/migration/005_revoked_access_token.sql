@@ -0,0 +1,16 @@
+--
+-- Split-mode access tokens ended by logout. Access tokens are never stored, so every replica mirrors this table in
+-- memory to deny them until they expire; rows past expires_at are deleted.
+--
+
+CREATE TABLE IF NOT EXISTS public.revoked_access_token (
+    token_hash bytea NOT NULL,
+    expires_at timestamp without time zone NOT NULL,
+    revoked_at timestamp without time zone NOT NULL,
+    CONSTRAINT revoked_access_token_pk PRIMARY KEY (token_hash),
+    CONSTRAINT revoked_access_token_token_hash_length CHECK ((octet_length(token_hash) = 32))
+);
+
+CREATE INDEX IF NOT EXISTS revoked_access_token_revoked_at_idx ON public.revoked_access_token USING btree (revoked_at);
+
+CREATE INDEX IF NOT EXISTS revoked_access_token_expires_at_idx ON public.revoked_access_token USING btree (expires_at);
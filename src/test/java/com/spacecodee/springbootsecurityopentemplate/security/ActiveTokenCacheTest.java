@@ -0,0 +1,101 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.spacecodee.springbootsecurityopentemplate.data.record.ActiveTokenEntry;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IJwtTokenMapper;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.JwtTokenEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.UserEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IJwtTokenRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.security.impl.JwtTokenManagementServiceImpl;
+import com.spacecodee.springbootsecurityopentemplate.utils.TokenDigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveTokenCacheTest {
+
+    private static final String TOKEN = "stored.jwt.token";
+    private static final long TTL_IN_SECONDS = 5;
+
+    @Mock
+    private IJwtTokenRepository jwtTokenRepository;
+
+    @Mock
+    private IJwtTokenMapper jwtTokenMapper;
+
+    @Mock
+    private ExceptionShortComponent exceptionShortComponent;
+
+    // The jwt_token table both replicas read and write
+    private final Map<ByteBuffer, JwtTokenEntity> rows = new ConcurrentHashMap<>();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private JwtTokenManagementServiceImpl replicaA;
+    private JwtTokenManagementServiceImpl replicaB;
+
+    @BeforeEach
+    void setUp() {
+        when(this.jwtTokenRepository.findByTokenHash(any())).thenAnswer(invocation ->
+                Optional.ofNullable(this.rows.get(ByteBuffer.wrap(invocation.getArgument(0)))));
+        when(this.jwtTokenRepository.deleteByTokenHash(any())).thenAnswer(invocation ->
+                this.rows.remove(ByteBuffer.wrap(invocation.getArgument(0))) == null ? 0 : 1);
+
+        this.replicaA = new JwtTokenManagementServiceImpl(this.jwtTokenRepository, this.jwtTokenMapper,
+                this.exceptionShortComponent, this.activeTokenCache());
+        this.replicaB = new JwtTokenManagementServiceImpl(this.jwtTokenRepository, this.jwtTokenMapper,
+                this.exceptionShortComponent, this.activeTokenCache());
+
+        var tokenHash = TokenDigestUtils.sha256(TOKEN);
+        this.rows.put(ByteBuffer.wrap(tokenHash), new JwtTokenEntity()
+                .setToken(TOKEN)
+                .setTokenHash(tokenHash)
+                .setIsValid(true)
+                .setExpiryDate(Instant.now().plusSeconds(3600))
+                .setUserEntity(new UserEntity().setId(2)));
+    }
+
+    @Test
+    void whenTokenIsLoggedOutOnAnotherReplica_thenCachedHitExpiresWithinTheTtl() {
+        // Given
+        assertTrue(this.replicaA.existsToken("en", TOKEN));
+
+        // When
+        this.replicaB.invalidateToken("en", TOKEN);
+
+        // Then
+        assertFalse(this.replicaB.existsToken("en", TOKEN));
+        this.nanos.addAndGet(TimeUnit.SECONDS.toNanos(TTL_IN_SECONDS + 1));
+        assertFalse(this.replicaA.existsToken("en", TOKEN));
+    }
+
+    private Cache<String, ActiveTokenEntry> activeTokenCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(TTL_IN_SECONDS, TimeUnit.SECONDS)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return ActiveTokenCacheTest.this.nanos.get();
+                    }
+                })
+                .build();
+    }
+}
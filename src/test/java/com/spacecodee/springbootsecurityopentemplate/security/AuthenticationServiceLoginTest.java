@@ -0,0 +1,137 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.common.auth.AuthenticationResponsePojo;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.vo.auth.LoginUserVO;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.InvalidCredentialsException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.PasswordHashingBusyException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.user.UsernameNotFoundException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IUserRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.auth.impl.AuthenticationServiceImpl;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ILoginAttemptService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.ITokenServiceFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceLoginTest {
+
+    private static final LoginUserVO LOGIN = new LoginUserVO("ghost", "password123");
+
+    @Mock
+    private IUserDetailsService userDetailsService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private ITokenServiceFacade tokenServiceFacade;
+
+    @Mock
+    private ExceptionShortComponent exceptionShortComponent;
+
+    @Mock
+    private ILoginAttemptService loginAttemptService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private AuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        this.authenticationService = new AuthenticationServiceImpl(this.userDetailsService,
+                this.authenticationManager, this.tokenServiceFacade, this.exceptionShortComponent,
+                this.loginAttemptService, this.passwordEncoder, this.userRepository);
+    }
+
+    @Test
+    void whenUsernameIsUnknown_thenInvalidCredentialsAreReportedAndTheFailureCounted() {
+        // Given
+        var notFound = new UsernameNotFoundException("user.not.exists.by.username", "en");
+        when(this.authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new InternalAuthenticationServiceException(notFound.getMessage(), notFound));
+        when(this.exceptionShortComponent.invalidCredentialsException("auth.invalid.credentials", "en", "ghost"))
+                .thenReturn(new InvalidCredentialsException("auth.invalid.credentials", "en", "ghost"));
+
+        // When / Then
+        assertThrows(InvalidCredentialsException.class, () -> this.authenticationService.login("en", LOGIN));
+        verify(this.loginAttemptService).loginFailed("ghost");
+        verifyNoInteractions(this.tokenServiceFacade);
+    }
+
+    @Test
+    void whenHashingQueueIsFullDuringLookup_thenTheBusyErrorIsKept() {
+        // Given
+        var busy = new PasswordHashingBusyException("error.password.hashing.busy", "en");
+        when(this.authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new InternalAuthenticationServiceException(busy.getMessage(), busy));
+
+        // When / Then
+        assertThrows(PasswordHashingBusyException.class, () -> this.authenticationService.login("en", LOGIN));
+        verify(this.loginAttemptService, never()).loginFailed("ghost");
+    }
+
+    @Test
+    void whenRehashOnLoginIsOff_thenALegacyHashIsLeftAsIs() {
+        // Given
+        var user = new UserDetailsDTO();
+        user.setId(2);
+        user.setUsername("ghost");
+        user.setPassword("$2a$10$legacyhash");
+        when(this.authenticationManager.authenticate(any(Authentication.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(this.tokenServiceFacade.authenticateUser(user, "en")).thenReturn(new AuthenticationResponsePojo("jwt"));
+
+        // When
+        this.authenticationService.login("en", LOGIN);
+
+        // Then
+        verifyNoInteractions(this.passwordEncoder);
+        verify(this.userRepository, never()).updatePassword(anyInt(), anyString());
+    }
+
+    @Test
+    void whenRehashOnLoginIsOn_thenAnOutdatedHashIsRewritten() {
+        // Given
+        ReflectionTestUtils.setField(this.authenticationService, "rehashOnLogin", true);
+        var user = new UserDetailsDTO();
+        user.setId(2);
+        user.setUsername("ghost");
+        user.setPassword("$2a$10$legacyhash");
+        when(this.authenticationManager.authenticate(any(Authentication.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(this.passwordEncoder.upgradeEncoding("$2a$10$legacyhash")).thenReturn(true);
+        when(this.passwordEncoder.encode("password123")).thenReturn("{bcrypt}$2a$12$newhash");
+        when(this.tokenServiceFacade.authenticateUser(user, "en")).thenReturn(new AuthenticationResponsePojo("jwt"));
+
+        // When
+        this.authenticationService.login("en", LOGIN);
+
+        // Then
+        verify(this.userRepository).updatePassword(2, "{bcrypt}$2a$12$newhash");
+    }
+}
@@ -0,0 +1,94 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.authority.AuthorityDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AuthorityDictionaryTest {
+
+    private AuthorityDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        this.dictionary = AuthorityDictionary.build(List.of(
+                operation(2, "AUTHENTICATE"),
+                operation(3, "SHOW_PROFILE"),
+                operation(19, "FIND_ALL_DEVELOPERS"),
+                operation(36, "REVOKE_ROLE_TOKENS")));
+    }
+
+    @Test
+    void whenAuthoritiesAreEncoded_thenDecodeReturnsSharedInstancesAndRole() {
+        // Given
+        var encoded = this.dictionary.encode(List.of(new SimpleGrantedAuthority("SHOW_PROFILE"),
+                new SimpleGrantedAuthority("REVOKE_ROLE_TOKENS"), new SimpleGrantedAuthority("ROLE_DEVELOPER")));
+
+        // When
+        var decoded = this.dictionary.decode(encoded, "DEVELOPER");
+
+        // Then
+        assertEquals(List.of("SHOW_PROFILE", "REVOKE_ROLE_TOKENS", "ROLE_DEVELOPER"),
+                decoded.stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(this.dictionary.authorityFor("SHOW_PROFILE"), decoded.getFirst());
+        assertSame(this.dictionary.authorityFor("ROLE_DEVELOPER"), decoded.getLast());
+    }
+
+    @Test
+    void whenAuthoritiesComeFromAnOlderTokenAsMaps_thenTheyAreEncodedToo() {
+        // Given
+        var authorities = List.of(Map.of("authority", "FIND_ALL_DEVELOPERS"));
+
+        // When
+        var decoded = this.dictionary.decode(this.dictionary.encode(authorities), null);
+
+        // Then
+        assertEquals(List.of(this.dictionary.authorityFor("FIND_ALL_DEVELOPERS")), decoded);
+    }
+
+    @Test
+    void whenTagIsUnknown_thenEncodeReturnsNull() {
+        assertNull(this.dictionary.encode(List.of(new SimpleGrantedAuthority("NOT_AN_OPERATION"))));
+    }
+
+    @Test
+    void whenDictionaryChanged_thenOldValueIsNotDecoded() {
+        // Given
+        var encoded = this.dictionary.encode(List.of(new SimpleGrantedAuthority("SHOW_PROFILE")));
+        var renamed = AuthorityDictionary.build(List.of(operation(3, "VIEW_PROFILE")));
+
+        // When / Then
+        assertNull(renamed.decode(encoded, "DEVELOPER"));
+    }
+
+    @Test
+    void whenOperationIsAdded_thenOldValueStillDecodes() {
+        // Given
+        var encoded = this.dictionary.encode(List.of(new SimpleGrantedAuthority("SHOW_PROFILE")));
+        var extended = AuthorityDictionary.build(List.of(
+                operation(2, "AUTHENTICATE"),
+                operation(3, "SHOW_PROFILE"),
+                operation(19, "FIND_ALL_DEVELOPERS"),
+                operation(36, "REVOKE_ROLE_TOKENS"),
+                operation(41, "NEW_OPERATION")));
+
+        // When
+        var decoded = extended.decode(encoded, null);
+
+        // Then
+        assertEquals(List.of(extended.authorityFor("SHOW_PROFILE")), decoded);
+    }
+
+    private static OperationEntity operation(int id, String tag) {
+        return new OperationEntity().setId(id).setTag(tag);
+    }
+}
@@ -0,0 +1,71 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.PasswordHashingBusyException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch hashingStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+        this.encoder.shutdown();
+    }
+
+    @Test
+    void whenThePoolAndQueueAreFull_thenHashingIsRejectedAtOnce() throws Exception {
+        // Given
+        this.encoder = new BoundedPasswordEncoder(this.blockingEncoder(), new ExceptionShortComponent(), 1, 1);
+        var running = CompletableFuture.supplyAsync(() -> this.encoder.encode("first"));
+        assertTrue(this.hashingStarted.await(5, TimeUnit.SECONDS));
+        var queued = CompletableFuture.supplyAsync(() -> this.encoder.encode("second"));
+        while (this.encoder.getStats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When / Then
+        assertThrows(PasswordHashingBusyException.class, () -> this.encoder.encode("third"));
+        this.release.countDown();
+        assertEquals("hashed-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed-second", queued.get(5, TimeUnit.SECONDS));
+
+        var stats = this.encoder.getStats();
+        assertEquals(2, stats.completed());
+        assertEquals(1, stats.rejected());
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                BoundedPasswordEncoderTest.this.hashingStarted.countDown();
+                try {
+                    BoundedPasswordEncoderTest.this.release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(this.encode(rawPassword));
+            }
+        };
+    }
+}
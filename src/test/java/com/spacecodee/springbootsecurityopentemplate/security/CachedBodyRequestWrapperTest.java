@@ -0,0 +1,63 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.CachedBodyRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedBodyRequestWrapperTest {
+
+    @Test
+    void whenBodyIsChunked_thenTheUsernameIsStillRead() throws Exception {
+        // Given
+        var request = chunked("{\"username\":\"developer\",\"password\":\"secret\"}");
+
+        // When
+        var wrapper = CachedBodyRequestWrapper.wrap(request, 4096);
+
+        // Then
+        assertFalse(wrapper.isOversized());
+        assertEquals("developer", wrapper.readStringField("username"));
+        assertEquals("{\"username\":\"developer\",\"password\":\"secret\"}",
+                new String(wrapper.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void whenChunkedBodyIsPaddedPastTheLimit_thenItIsOversized() throws Exception {
+        // Given
+        var request = chunked("{\"username\":\"developer\"" + " ".repeat(5000) + "}");
+
+        // When / Then
+        assertTrue(CachedBodyRequestWrapper.wrap(request, 4096).isOversized());
+    }
+
+    @Test
+    void whenUsernameIsRepeated_thenNoUsernameIsRead() throws Exception {
+        // Given
+        var request = chunked("{\"username\":\"junk1\",\"username\":\"victim\",\"password\":\"secret\"}");
+
+        // When
+        var wrapper = CachedBodyRequestWrapper.wrap(request, 4096);
+
+        // Then
+        assertNull(wrapper.readStringField("username"));
+    }
+
+    private static MockHttpServletRequest chunked(String body) {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/authenticate") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
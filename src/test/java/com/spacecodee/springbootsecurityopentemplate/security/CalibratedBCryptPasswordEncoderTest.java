@@ -0,0 +1,36 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void whenStoredCostIsLower_thenUpgradeIsRequested() {
+        // Given
+        var encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        // When / Then
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void whenStoredCostIsHigher_thenItIsKept() {
+        // Given
+        var encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        // When / Then
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void whenTargetIsBelowAnyCost_thenTheMinimumIsUsed() {
+        assertEquals(4, CalibratedBCryptPasswordEncoder.calibrate(0, 4, 6));
+    }
+}
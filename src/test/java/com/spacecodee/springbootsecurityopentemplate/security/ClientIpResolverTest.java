@@ -0,0 +1,49 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.ClientIpResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("127.0.0.1", "10.0.0.0/8", "fd00::/8"));
+
+    @Test
+    void whenConnectionIsNotFromATrustedProxy_thenForwardedForIsIgnored() {
+        // Given
+        var request = request("203.0.113.7", "198.51.100.1");
+
+        // When / Then
+        assertEquals(InetAddresses.forString("203.0.113.7"), this.resolver.resolve(request));
+    }
+
+    @Test
+    void whenClientSpoofsTheFirstHop_thenTheAddressSeenByTheProxiesIsUsed() {
+        // Given
+        var request = request("10.0.0.2", "1.2.3.4, 203.0.113.7, 10.0.0.1");
+
+        // When / Then
+        assertEquals(InetAddresses.forString("203.0.113.7"), this.resolver.resolve(request));
+    }
+
+    @Test
+    void whenHopIsNotAnAddress_thenStopsAtTheLastTrustedHop() {
+        // Given
+        var request = request("fd00::1", "203.0.113.7, attacker.example, 10.0.0.1");
+
+        // When / Then
+        assertEquals(InetAddresses.forString("10.0.0.1"), this.resolver.resolve(request));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String forwardedFor) {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/authenticate");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacecodee.springbootsecurityopentemplate.enums.FilterRejectReasonEnum;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
+import com.spacecodee.springbootsecurityopentemplate.language.MessageUtilComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.handler.FilterRejectionWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FilterRejectionWriterTest {
+
+    @Mock
+    private MessageUtilComponent messageUtilComponent;
+
+    private FilterRejectionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        this.writer = new FilterRejectionWriter(this.messageUtilComponent);
+    }
+
+    @Test
+    void whenTokenIsRejected_thenBodyIsValidJsonAndRenderedOncePerLanguage() throws Exception {
+        // Given
+        when(this.messageUtilComponent.getMessage("token.expired", "es")).thenReturn("Sesión \"expirada\"");
+        var exception = new TokenExpiredException("token.expired", "es");
+
+        // When
+        var first = new MockHttpServletResponse();
+        this.writer.reject(new MockHttpServletRequest("GET", "/api/v1/user/\"1\""), first, exception, "es");
+        var second = new MockHttpServletResponse();
+        this.writer.reject(new MockHttpServletRequest("DELETE", "/api/v1/user/2"), second, exception, "es-ES");
+
+        // Then
+        assertEquals(401, first.getStatus());
+        var body = new ObjectMapper().readTree(first.getContentAsByteArray());
+        assertEquals("Sesión \"expirada\"", body.get("message").asText());
+        assertEquals("/api/v1/user/\"1\"", body.get("path").asText());
+        assertEquals("GET", body.get("method").asText());
+        assertEquals("DELETE", new ObjectMapper().readTree(second.getContentAsByteArray()).get("method").asText());
+        verify(this.messageUtilComponent, times(1)).getMessage("token.expired", "es");
+        assertEquals(2L, this.writer.getStats().rejections().get(FilterRejectReasonEnum.TOKEN_EXPIRED));
+    }
+
+    @Test
+    void whenRateLimited_thenStatusIs429AndCounted() throws Exception {
+        // Given
+        when(this.messageUtilComponent.getMessage("error.auth.rate.limit.exceeded", "en")).thenReturn("Too many");
+        var response = new MockHttpServletResponse();
+
+        // When
+        this.writer.rejectRateLimited(new MockHttpServletRequest("POST", "/api/v1/auth/authenticate"), response,
+                null);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals(1L, this.writer.getStats().total());
+    }
+}
@@ -0,0 +1,93 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.security.jwt.Hs256JwtCodec;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Hs256JwtCodecTest {
+
+    private SecretKey key;
+    private Hs256JwtCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        this.key = Jwts.SIG.HS256.key().build();
+        this.codec = new Hs256JwtCodec(this.key);
+    }
+
+    @Test
+    void whenCodecEncodes_thenJjwtVerifiesTheSameClaims() {
+        // Given
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", "developer");
+        claims.put("userId", 4);
+        claims.put("authorities", List.of(new SimpleGrantedAuthority("GET_ALL_USERS")));
+        claims.put("iat", 1_700_000_000L);
+        claims.put("exp", 4_100_000_000L);
+
+        // When
+        var token = this.codec.encode(claims);
+        var parsed = Jwts.parser().verifyWith(this.key).build().parseSignedClaims(token).getPayload();
+
+        // Then
+        assertEquals("developer", parsed.getSubject());
+        assertEquals(4, parsed.get("userId"));
+        assertEquals(List.of(Map.of("authority", "GET_ALL_USERS")), parsed.get("authorities"));
+        assertEquals(new Date(4_100_000_000_000L), parsed.getExpiration());
+    }
+
+    @Test
+    void whenJjwtEncodes_thenCodecDecodesTheSameClaims() {
+        // Given
+        var token = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("developer")
+                .claim("role", "DEVELOPER")
+                .expiration(new Date(4_100_000_000_000L))
+                .signWith(this.key, Jwts.SIG.HS256)
+                .compact();
+
+        // When
+        var claims = this.codec.decode(token);
+
+        // Then
+        assertEquals("developer", claims.get("sub"));
+        assertEquals("DEVELOPER", claims.get("role"));
+        assertEquals(4_100_000_000L, ((Number) claims.get("exp")).longValue());
+    }
+
+    @Test
+    void whenSignatureDoesNotMatch_thenThrowsSignatureException() {
+        // Given
+        var token = new Hs256JwtCodec(Jwts.SIG.HS256.key().build()).encode(Map.of("sub", "developer"));
+
+        // When / Then
+        assertThrows(SignatureException.class, () -> this.codec.decode(token));
+    }
+
+    @Test
+    void whenHeaderIsNotHs256_thenThrowsUnsupportedJwtException() {
+        // Given
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        var header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.US_ASCII));
+        var payload = encoder.encodeToString("{\"sub\":\"developer\"}".getBytes(StandardCharsets.US_ASCII));
+
+        // When / Then
+        assertThrows(UnsupportedJwtException.class, () -> this.codec.decode(header + "." + payload + ".c2ln"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.net.InetAddresses;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.IpBucketTable;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IpBucketTableTest {
+
+    private static final RateLimitRule RULE = RateLimitRule.parse("login-ip POST /auth/authenticate IP 5 PT15M");
+
+    @Test
+    void whenAddressesShareAnIpv6Prefix_thenTheyShareABucket() {
+        // Given
+        var table = new IpBucketTable(1024, 64);
+        for (int i = 0; i < 5; i++) {
+            table.tryAcquire(InetAddresses.forString("2001:db8::" + (i + 1)), RULE, 0);
+        }
+
+        // When / Then
+        assertFalse(table.tryAcquire(InetAddresses.forString("2001:db8::ff"), RULE, 0).allowed());
+        assertTrue(table.tryAcquire(InetAddresses.forString("2001:db8:0:1::1"), RULE, 0).allowed());
+    }
+
+    @Test
+    void whenFloodedWithNewAddresses_thenALimitedSourceIsKept() {
+        // Given
+        var table = new IpBucketTable(8, 64);
+        var attacker = InetAddresses.forString("203.0.113.7");
+        for (int i = 0; i < 5; i++) {
+            table.tryAcquire(attacker, RULE, 0);
+        }
+
+        // When
+        long now = Duration.ofSeconds(1).toNanos();
+        for (int i = 0; i < 10_000; i++) {
+            table.tryAcquire(InetAddresses.fromInteger(i), RULE, now);
+        }
+
+        // Then
+        assertFalse(table.tryAcquire(attacker, RULE, now).allowed());
+    }
+}
@@ -0,0 +1,41 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.LoginFailureTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoginFailureTableTest {
+
+    private static final long SECOND = 1000;
+
+    @Test
+    void whenFailuresReachTheThreshold_thenTheLockDoublesUpToTheMaximum() {
+        // Given
+        var table = new LoginFailureTable(1024, 3, 30 * SECOND, 100 * SECOND, 3600 * SECOND);
+        long now = 1_700_000_000_000L;
+
+        // When / Then
+        assertEquals(0, table.recordFailure("developer", now));
+        assertEquals(0, table.recordFailure("developer", now));
+        assertEquals(30 * SECOND, table.recordFailure("developer", now));
+        assertEquals(20 * SECOND, table.lockedForMillis("developer", now + 10 * SECOND));
+        assertEquals(60 * SECOND, table.recordFailure("developer", now + 30 * SECOND));
+        assertEquals(100 * SECOND, table.recordFailure("developer", now + 90 * SECOND));
+        assertEquals(0, table.lockedForMillis("admin", now + 90 * SECOND));
+    }
+
+    @Test
+    void whenLoginSucceedsOrFailuresAreOld_thenTheCountStartsOver() {
+        // Given
+        var table = new LoginFailureTable(1024, 2, 30 * SECOND, 60 * SECOND, 600 * SECOND);
+        long now = 1_700_000_000_000L;
+        table.recordFailure("developer", now);
+        table.recordSuccess("developer");
+
+        // When / Then
+        assertEquals(0, table.recordFailure("developer", now));
+        assertEquals(0, table.recordFailure("developer", now + 601 * SECOND));
+        assertEquals(30 * SECOND, table.recordFailure("developer", now + 602 * SECOND));
+    }
+}
@@ -0,0 +1,77 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.ModuleEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.route.OperationRouteIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class OperationRouteIndexTest {
+
+    private OperationRouteIndex routeIndex;
+
+    @BeforeEach
+    void setUp() {
+        var adminModule = new ModuleEntity().setId(1).setName("USER_ADMIN").setBasePath("/user-admin");
+        var authModule = new ModuleEntity().setId(2).setName("AUTH").setBasePath("/auth");
+        var monitoringModule = new ModuleEntity().setId(7).setName("MONITORING-CACHE")
+                .setBasePath("/monitoring/cache");
+
+        this.routeIndex = OperationRouteIndex.build(List.of(
+                operation(1, "", "POST", adminModule),
+                operation(14, "/[0-9]*", "DELETE", adminModule),
+                operation(2, "/authenticate", "POST", authModule),
+                operation(32, "/stats", "GET", monitoringModule)));
+    }
+
+    @Test
+    void whenLiteralRouteMatches_thenReturnsOperationId() {
+        assertArrayEquals(new int[]{2}, this.routeIndex.resolve("POST", "/auth/authenticate"));
+        assertArrayEquals(new int[]{32}, this.routeIndex.resolve("GET", "/monitoring/cache/stats"));
+        assertArrayEquals(new int[]{1}, this.routeIndex.resolve("POST", "/user-admin"));
+    }
+
+    @Test
+    void whenRegexRemainderMatches_thenReturnsOperationId() {
+        assertArrayEquals(new int[]{14}, this.routeIndex.resolve("DELETE", "/user-admin/12"));
+        assertArrayEquals(new int[]{14}, this.routeIndex.resolve("delete", "/user-admin/"));
+    }
+
+    @Test
+    void whenNothingMatches_thenReturnsEmpty() {
+        assertArrayEquals(new int[0], this.routeIndex.resolve("DELETE", "/user-admin/abc"));
+        assertArrayEquals(new int[0], this.routeIndex.resolve("GET", "/auth/authenticate"));
+        assertArrayEquals(new int[0], this.routeIndex.resolve("POST", "/user-admin/"));
+        assertArrayEquals(new int[0], this.routeIndex.resolve("GET", "/monitoring/cache"));
+    }
+
+    @Test
+    void whenPatternHasTopLevelAlternation_thenEveryAlternativeMatchesTheWholeUrl() {
+        // Given
+        var rootModule = new ModuleEntity().setId(8).setName("API").setBasePath("");
+        var index = OperationRouteIndex.build(List.of(
+                operation(50, "/api/v1|/api/v2", "GET", rootModule),
+                operation(51, "/api/(v3|v4)", "GET", rootModule),
+                operation(52, "/api/[|]x", "GET", rootModule)));
+
+        // When / Then
+        assertArrayEquals(new int[]{50}, index.resolve("GET", "/api/v1"));
+        assertArrayEquals(new int[]{50}, index.resolve("GET", "/api/v2"));
+        assertArrayEquals(new int[]{51}, index.resolve("GET", "/api/v4"));
+        assertArrayEquals(new int[]{52}, index.resolve("GET", "/api/|x"));
+        assertArrayEquals(new int[0], index.resolve("GET", "/v1"));
+    }
+
+    private static OperationEntity operation(int id, String path, String method, ModuleEntity module) {
+        return new OperationEntity()
+                .setId(id)
+                .setTag("OPERATION_" + id)
+                .setPath(path)
+                .setHttpMethod(method)
+                .setModuleEntity(module);
+    }
+}
@@ -0,0 +1,64 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsOperationDTO;
+import com.spacecodee.springbootsecurityopentemplate.mappers.details.IOperationDetailsMapper;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IOperationRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.impl.OperationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OperationSnapshotRefreshTest {
+
+    @Mock
+    private IOperationRepository operationRepository;
+
+    @Mock
+    private IOperationDetailsMapper operationDetailsMapper;
+
+    @Test
+    void whenOperationTableIsUnchanged_thenSnapshotIsNotReloaded() {
+        // Given
+        when(this.operationRepository.findRoutingFingerprint()).thenReturn("a");
+        when(this.operationRepository.findByPermitAllIsPublic()).thenReturn(List.of());
+        var service = new OperationServiceImpl(this.operationRepository, this.operationDetailsMapper);
+        service.refreshPublicOperations();
+
+        // When
+        service.refreshIfChanged();
+
+        // Then
+        verify(this.operationRepository, times(1)).findByPermitAllIsPublic();
+    }
+
+    @Test
+    void whenAnotherReplicaMakesAnOperationPublic_thenSnapshotIsReloaded() {
+        // Given
+        var operation = new OperationEntity();
+        var dto = new UserDetailsOperationDTO();
+        dto.setId(7);
+        when(this.operationRepository.findRoutingFingerprint()).thenReturn("a", "b", "b");
+        when(this.operationRepository.findByPermitAllIsPublic()).thenReturn(List.of(), List.of(operation));
+        when(this.operationDetailsMapper.toUserDetailsOperationDTO(operation)).thenReturn(dto);
+        var service = new OperationServiceImpl(this.operationRepository, this.operationDetailsMapper);
+        service.refreshPublicOperations();
+        assertFalse(service.isPublicOperation(new int[]{7}));
+
+        // When
+        service.refreshIfChanged();
+
+        // Then
+        assertTrue(service.isPublicOperation(new int[]{7}));
+    }
+}
@@ -0,0 +1,64 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.security.config.PasswordEncoderConfig;
+import com.spacecodee.springbootsecurityopentemplate.security.crypto.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderConfigTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        var config = new PasswordEncoderConfig();
+        ReflectionTestUtils.setField(config, "threads", 1);
+        ReflectionTestUtils.setField(config, "queueCapacity", 4);
+        ReflectionTestUtils.setField(config, "strength", 5);
+        this.encoder = config.passwordEncoder(new ExceptionShortComponent());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.encoder.shutdown();
+    }
+
+    @Test
+    void whenHashIsEncoded_thenItCarriesTheBcryptPrefixAndNeedsNoUpgrade() {
+        // When
+        var encoded = this.encoder.encode("secret");
+
+        // Then
+        assertTrue(encoded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(this.encoder.matches("secret", encoded));
+        assertFalse(this.encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void whenLegacyHashHasNoPrefix_thenItMatchesAndIsUpgraded() {
+        // Given
+        var legacy = new BCryptPasswordEncoder(5).encode("secret");
+
+        // When / Then
+        assertTrue(this.encoder.matches("secret", legacy));
+        assertTrue(this.encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void whenPrefixedHashHasAnotherCost_thenOnlyALowerOneIsUpgraded() {
+        // Given
+        var weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        var stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret");
+
+        // When / Then
+        assertTrue(this.encoder.upgradeEncoding(weaker));
+        assertFalse(this.encoder.upgradeEncoding(stronger));
+    }
+}
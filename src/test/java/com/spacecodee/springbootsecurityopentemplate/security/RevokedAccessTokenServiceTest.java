@@ -0,0 +1,65 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.cache.CacheBuilder;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.RevokedAccessTokenEntity;
+import com.spacecodee.springbootsecurityopentemplate.persistence.repository.IRevokedAccessTokenRepository;
+import com.spacecodee.springbootsecurityopentemplate.service.security.impl.RevokedAccessTokenServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedAccessTokenServiceTest {
+
+    private static final String ACCESS_TOKEN = "access.jwt.token";
+
+    @Mock
+    private IRevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    // The revoked_access_token table both replicas read and write
+    private final List<RevokedAccessTokenEntity> rows = new CopyOnWriteArrayList<>();
+
+    private RevokedAccessTokenServiceImpl replicaA;
+    private RevokedAccessTokenServiceImpl replicaB;
+
+    @BeforeEach
+    void setUp() {
+        when(this.revokedAccessTokenRepository.insertIfAbsent(any(), any())).thenAnswer(invocation -> {
+            this.rows.add(new RevokedAccessTokenEntity(invocation.getArgument(0), invocation.getArgument(1),
+                    Instant.now()));
+            return 1;
+        });
+        when(this.revokedAccessTokenRepository.findByExpiresAtAfter(any())).thenAnswer(invocation -> List.of());
+        when(this.revokedAccessTokenRepository.findByRevokedAtAfter(any())).thenAnswer(invocation ->
+                List.copyOf(this.rows));
+
+        this.replicaA = new RevokedAccessTokenServiceImpl(this.revokedAccessTokenRepository,
+                CacheBuilder.newBuilder().build());
+        this.replicaB = new RevokedAccessTokenServiceImpl(this.revokedAccessTokenRepository,
+                CacheBuilder.newBuilder().build());
+        this.replicaB.refresh();
+    }
+
+    @Test
+    void whenAccessTokenIsLoggedOutOnOneReplica_thenTheOtherDeniesItAfterItsRefresh() {
+        // When
+        this.replicaA.revoke(ACCESS_TOKEN, Instant.now().plusSeconds(300));
+
+        // Then
+        assertTrue(this.replicaA.isRevoked(ACCESS_TOKEN));
+        assertFalse(this.replicaB.isRevoked(ACCESS_TOKEN));
+        this.replicaB.refresh();
+        assertTrue(this.replicaB.isRevoked(ACCESS_TOKEN));
+    }
+}
@@ -0,0 +1,50 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.HeavyHitter;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.SpaceSavingSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void whenOneKeyDominatesManyDistinctKeys_thenItStaysOnTopWithinTheErrorBound() {
+        // Given
+        var sketch = new SpaceSavingSketch(16);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer("victim");
+            sketch.offer("user-" + i);
+        }
+        var top = sketch.top(1, 10);
+
+        // Then
+        var victim = top.getFirst();
+        assertEquals("victim", victim.key());
+        assertTrue(victim.count() >= 10_000 && victim.count() - victim.error() <= 10_000);
+        assertEquals(victim.count() / 10.0, victim.ratePerSecond());
+        assertEquals(20_000, sketch.total());
+    }
+
+    @Test
+    void whenFewerKeysThanCapacity_thenCountsAreExact() {
+        // Given
+        var sketch = new SpaceSavingSketch(4);
+
+        // When
+        sketch.offer("a");
+        sketch.offer("b");
+        sketch.offer("b");
+        sketch.offer("c");
+        sketch.offer("b");
+        sketch.offer("a");
+
+        // Then
+        assertEquals(List.of(new HeavyHitter("b", 3, 0, 3), new HeavyHitter("a", 2, 0, 2)), sketch.top(2, 1));
+    }
+}
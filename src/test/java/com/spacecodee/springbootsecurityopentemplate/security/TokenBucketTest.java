@@ -0,0 +1,98 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.spacecodee.springbootsecurityopentemplate.data.record.RateLimitDecision;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.RateLimitRule;
+import com.spacecodee.springbootsecurityopentemplate.security.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final RateLimitRule RULE = RateLimitRule.parse("login-ip POST /auth/authenticate IP 5 PT15M");
+    private static final long INTERVAL = Duration.ofMinutes(3).toNanos();
+
+    @Test
+    void whenLimitIsReached_thenRefusesUntilOneIntervalHasPassed() {
+        // Given
+        var bucket = new TokenBucket(0);
+        List<RateLimitDecision> decisions = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            decisions.add(bucket.tryAcquire(RULE, 0));
+        }
+
+        // Then
+        assertEquals(List.of(4, 3, 2, 1, 0, 0), decisions.stream().map(RateLimitDecision::remaining).toList());
+        assertFalse(decisions.getLast().allowed());
+        assertEquals(INTERVAL, decisions.getLast().retryAfterNanos());
+        assertFalse(bucket.tryAcquire(RULE, INTERVAL - 1).allowed());
+        assertTrue(bucket.tryAcquire(RULE, INTERVAL).allowed());
+    }
+
+    @Test
+    void whenIdleForTheWindow_thenBucketIsFullAgain() {
+        // Given
+        var bucket = new TokenBucket(0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(RULE, 0);
+        }
+
+        // When
+        var decision = bucket.tryAcquire(RULE, Duration.ofMinutes(15).toNanos());
+
+        // Then
+        assertTrue(decision.allowed());
+        assertEquals(4, decision.remaining());
+    }
+
+    @Test
+    void whenManyThreadsShareABucket_thenExactlyTheLimitIsAllowed() throws Exception {
+        // Given
+        var rule = RateLimitRule.parse("route * /** ROUTE 1000 PT1H");
+        var bucket = new TokenBucket(0);
+        var start = new CountDownLatch(1);
+        Callable<Integer> attempts = () -> {
+            start.await();
+            int allowed = 0;
+            for (int i = 0; i < 100; i++) {
+                if (bucket.tryAcquire(rule, 0).allowed()) {
+                    allowed++;
+                }
+            }
+            return allowed;
+        };
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        int allowed = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(attempts));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1000, allowed);
+    }
+}
@@ -0,0 +1,175 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.cache.CacheBuilder;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsRoleDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenClaims;
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
+import com.spacecodee.springbootsecurityopentemplate.enums.RoleEnum;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IJwtTokenMapper;
+import com.spacecodee.springbootsecurityopentemplate.security.authentication.filter.JwtAuthenticationFilter;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.authority.AuthorityDictionary;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.route.PublicRouteMatcher;
+import com.spacecodee.springbootsecurityopentemplate.security.handler.FilterRejectionWriter;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtTokenManagementService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevocationEpochService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevokedAccessTokenService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.impl.TokenServiceFacadeImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRefreshCoalescingTest {
+
+    private static final String EXPIRED_TOKEN = "expired.jwt.token";
+    private static final String NEW_TOKEN = "refreshed.jwt.token";
+    private static final int CONCURRENT_REQUESTS = 32;
+
+    @Mock
+    private IJwtProviderService jwtProviderService;
+
+    @Mock
+    private IJwtTokenManagementService tokenManagementService;
+
+    @Mock
+    private IJwtTokenMapper jwtTokenMapper;
+
+    @Mock
+    private ExceptionShortComponent exceptionShortComponent;
+
+    @Mock
+    private IUserDetailsService userDetailsService;
+
+    @Mock
+    private IRevocationEpochService revocationEpochService;
+
+    @Mock
+    private IRevokedAccessTokenService revokedAccessTokenService;
+
+    // Separate from the filter's user service, whose loads the test asserts never happen
+    @Mock
+    private IUserDetailsService refreshUserDetailsService;
+
+    @Mock
+    private IOperationRouteService operationRouteService;
+
+    @Mock
+    private PublicRouteMatcher publicRouteMatcher;
+
+    @Mock
+    private FilterRejectionWriter filterRejectionWriter;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var facade = new TokenServiceFacadeImpl(this.jwtProviderService, this.tokenManagementService,
+                this.jwtTokenMapper, this.exceptionShortComponent,
+                CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build(), this.revocationEpochService,
+                this.revokedAccessTokenService, this.refreshUserDetailsService, this.operationRouteService);
+        this.filter = new JwtAuthenticationFilter(facade, this.jwtProviderService, this.userDetailsService,
+                this.publicRouteMatcher, this.filterRejectionWriter);
+    }
+
+    @Test
+    void whenSameExpiredTokenArrivesConcurrently_thenOnlyOneRefreshIsSaved() throws Exception {
+        // Given
+        var claims = Map.<String, Object>of("sub", "developer", "userId", 2, "role", "DEVELOPER");
+        var expired = new VerifiedToken(EXPIRED_TOKEN, "developer", 2, "DEVELOPER",
+                Instant.now().minusSeconds(60), claims, true);
+        var issued = new VerifiedToken(NEW_TOKEN, "developer", 2, "DEVELOPER",
+                Instant.now().plusSeconds(3600), claims, false);
+
+        // The old row disappears as soon as the first refresh deletes it
+        var oldTokenStored = new AtomicBoolean(true);
+        when(this.jwtProviderService.extractJwtFromRequest(any(HttpServletRequest.class))).thenReturn(EXPIRED_TOKEN);
+        when(this.tokenManagementService.existsToken(anyString(), eq(EXPIRED_TOKEN)))
+                .thenAnswer(invocation -> oldTokenStored.get());
+        doAnswer(invocation -> {
+            oldTokenStored.set(false);
+            return null;
+        }).when(this.tokenManagementService).invalidateToken(anyString(), eq(EXPIRED_TOKEN));
+        when(this.jwtProviderService.verify(EXPIRED_TOKEN)).thenReturn(expired);
+        when(this.refreshUserDetailsService.findByUsername(anyString(), eq("developer"))).thenReturn(developer());
+        when(this.operationRouteService.authorityDictionary()).thenReturn(AuthorityDictionary.empty());
+        when(this.jwtProviderService.issueToken(any(TokenClaims.class))).thenAnswer(invocation -> {
+            // Keep the refresh in flight long enough for the other requests to pile up behind it
+            Thread.sleep(100);
+            return issued;
+        });
+
+        var start = new CountDownLatch(1);
+        Callable<String> request = () -> {
+            var response = new MockHttpServletResponse();
+            start.await();
+            this.filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/developer"), response,
+                    mock(FilterChain.class));
+            return response.getHeader("Authorization");
+        };
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(request));
+            }
+            start.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("Bearer " + NEW_TOKEN, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(this.tokenManagementService, times(1)).invalidateToken(anyString(), eq(EXPIRED_TOKEN));
+        verify(this.tokenManagementService, times(1)).saveToken(any());
+        verify(this.jwtProviderService, times(1)).issueToken(any(TokenClaims.class));
+        // Nothing downstream asked for the user, so it was never loaded
+        verifyNoInteractions(this.userDetailsService);
+    }
+
+    private static UserDetailsDTO developer() {
+        var role = new UserDetailsRoleDTO();
+        role.setId(3);
+        role.setName(RoleEnum.DEVELOPER);
+        role.setUserDetailsPermissionDTOList(List.of());
+        return new UserDetailsDTO(2, "Developer", "developer", "hash", role);
+    }
+}
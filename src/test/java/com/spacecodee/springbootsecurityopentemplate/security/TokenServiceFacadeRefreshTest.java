@@ -0,0 +1,196 @@
+package com.spacecodee.springbootsecurityopentemplate.security;
+
+import com.google.common.cache.CacheBuilder;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.dto.user.details.UserDetailsRoleDTO;
+import com.spacecodee.springbootsecurityopentemplate.data.record.TokenClaims;
+import com.spacecodee.springbootsecurityopentemplate.data.record.VerifiedToken;
+import com.spacecodee.springbootsecurityopentemplate.enums.RoleEnum;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenExpiredException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenInvalidException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.auth.TokenNotFoundException;
+import com.spacecodee.springbootsecurityopentemplate.exceptions.util.ExceptionShortComponent;
+import com.spacecodee.springbootsecurityopentemplate.mappers.basic.IJwtTokenMapper;
+import com.spacecodee.springbootsecurityopentemplate.persistence.entity.OperationEntity;
+import com.spacecodee.springbootsecurityopentemplate.security.authorization.authority.AuthorityDictionary;
+import com.spacecodee.springbootsecurityopentemplate.service.core.endpoint.IOperationRouteService;
+import com.spacecodee.springbootsecurityopentemplate.service.core.user.details.IUserDetailsService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtProviderService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IJwtTokenManagementService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevocationEpochService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.IRevokedAccessTokenService;
+import com.spacecodee.springbootsecurityopentemplate.service.security.impl.TokenServiceFacadeImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceFacadeRefreshTest {
+
+    private static final String ACCESS_TOKEN = "access.token.value";
+    private static final String REFRESH_TOKEN = "refresh.token.value";
+    private static final String LEGACY_TOKEN = "legacy.token.value";
+    private static final String NEW_TOKEN = "new.token.value";
+
+    @Mock
+    private IJwtProviderService jwtProviderService;
+
+    @Mock
+    private IJwtTokenManagementService tokenManagementService;
+
+    @Mock
+    private IJwtTokenMapper jwtTokenMapper;
+
+    @Mock
+    private ExceptionShortComponent exceptionShortComponent;
+
+    @Mock
+    private IRevocationEpochService revocationEpochService;
+
+    @Mock
+    private IRevokedAccessTokenService revokedAccessTokenService;
+
+    @Mock
+    private IUserDetailsService userDetailsService;
+
+    @Mock
+    private IOperationRouteService operationRouteService;
+
+    private TokenServiceFacadeImpl facade;
+
+    @BeforeEach
+    void setUp() {
+        this.facade = new TokenServiceFacadeImpl(this.jwtProviderService, this.tokenManagementService,
+                this.jwtTokenMapper, this.exceptionShortComponent, CacheBuilder.newBuilder().build(),
+                this.revocationEpochService, this.revokedAccessTokenService, this.userDetailsService,
+                this.operationRouteService);
+        ReflectionTestUtils.setField(this.facade, "splitTokensEnabled", true);
+    }
+
+    @Test
+    void whenRefreshTokenIsExchangedTwice_thenSecondExchangeIsRejected() {
+        // Given
+        when(this.jwtProviderService.verify(REFRESH_TOKEN)).thenReturn(token(REFRESH_TOKEN, "refresh", false));
+        when(this.tokenManagementService.consumeToken("en", REFRESH_TOKEN)).thenReturn(true, false);
+        when(this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", "en"))
+                .thenReturn(new TokenNotFoundException("auth.unauthorized", "en"));
+
+        // When
+        var username = this.facade.consumeRefreshToken(REFRESH_TOKEN, "en");
+
+        // Then
+        assertEquals("developer", username);
+        assertThrows(TokenNotFoundException.class, () -> this.facade.consumeRefreshToken(REFRESH_TOKEN, "en"));
+    }
+
+    @Test
+    void whenConsumedRefreshTokenIsReplayed_thenEverySessionOfTheUserIsRevoked() {
+        // Given
+        when(this.jwtProviderService.verify(REFRESH_TOKEN)).thenReturn(token(REFRESH_TOKEN, "refresh", false));
+        when(this.tokenManagementService.consumeToken("en", REFRESH_TOKEN)).thenReturn(false);
+        when(this.exceptionShortComponent.tokenNotFoundException("auth.unauthorized", "en"))
+                .thenReturn(new TokenNotFoundException("auth.unauthorized", "en"));
+
+        // When
+        assertThrows(TokenNotFoundException.class, () -> this.facade.consumeRefreshToken(REFRESH_TOKEN, "en"));
+
+        // Then
+        verify(this.revocationEpochService).revokeUser(2);
+        verify(this.tokenManagementService).invalidateUserTokens("en", 2);
+    }
+
+    @Test
+    void whenRefreshTokenIsPresentedAsBearer_thenItIsRejected() {
+        // Given
+        when(this.jwtProviderService.verify(REFRESH_TOKEN)).thenReturn(token(REFRESH_TOKEN, "refresh", false));
+        when(this.exceptionShortComponent.tokenInvalidException("token.inValid", "en"))
+                .thenReturn(new TokenInvalidException("token.inValid", "en"));
+
+        // When / Then
+        assertThrows(TokenInvalidException.class, () -> this.facade.validateAndRefreshToken(REFRESH_TOKEN, "en"));
+        verify(this.tokenManagementService, never()).existsToken("en", REFRESH_TOKEN);
+    }
+
+    @Test
+    void whenAccessTokenExpires_thenItIsNotRefreshedTransparently() {
+        // Given
+        when(this.jwtProviderService.verify(ACCESS_TOKEN)).thenReturn(token(ACCESS_TOKEN, "access", true));
+        when(this.exceptionShortComponent.tokenExpiredException("token.access.expired", "en"))
+                .thenReturn(new TokenExpiredException("token.access.expired", "en"));
+
+        // When / Then
+        assertThrows(TokenExpiredException.class, () -> this.facade.validateAndRefreshToken(ACCESS_TOKEN, "en"));
+        verify(this.jwtProviderService, never()).issueToken(any(TokenClaims.class));
+        verify(this.tokenManagementService, never()).saveToken(any());
+    }
+
+    @Test
+    void whenLegacyTokenExpired_thenRefreshEndpointStillExchangesIt() {
+        // Given
+        ReflectionTestUtils.setField(this.facade, "splitTokensEnabled", false);
+        var issued = new VerifiedToken(NEW_TOKEN, "developer", 2, "DEVELOPER",
+                Instant.now().plusSeconds(3600), Map.of("userId", 2), false);
+        when(this.jwtProviderService.verify(LEGACY_TOKEN)).thenReturn(token(LEGACY_TOKEN, null, true));
+        when(this.tokenManagementService.consumeToken("en", LEGACY_TOKEN)).thenReturn(true);
+        when(this.jwtProviderService.issueToken(any(TokenClaims.class))).thenReturn(issued);
+        when(this.operationRouteService.authorityDictionary()).thenReturn(AuthorityDictionary.empty());
+
+        // When
+        var refreshed = this.facade.refreshToken(LEGACY_TOKEN, developer(), "en");
+
+        // Then
+        assertEquals(NEW_TOKEN, refreshed);
+        verify(this.tokenManagementService).saveToken(any());
+    }
+
+    @Test
+    void whenAccessTokenIsIntrospected_thenItsAuthoritiesAreDecoded() {
+        // Given
+        var dictionary = AuthorityDictionary.build(List.of(
+                new OperationEntity().setId(3).setTag("SHOW_PROFILE"),
+                new OperationEntity().setId(19).setTag("FIND_ALL_DEVELOPERS")));
+        var encoded = dictionary.encode(List.of(new SimpleGrantedAuthority("SHOW_PROFILE")));
+        var accessToken = new VerifiedToken(ACCESS_TOKEN, "developer", 2, "DEVELOPER",
+                Instant.now().plusSeconds(300), Map.of("sub", "developer", "userId", 2, "role", "DEVELOPER",
+                "token_use", "access", "auth", encoded), false);
+        when(this.jwtProviderService.verify(ACCESS_TOKEN)).thenReturn(accessToken);
+        when(this.operationRouteService.authorityDictionary()).thenReturn(dictionary);
+
+        // When
+        var results = this.facade.introspectTokens(List.of(ACCESS_TOKEN), "en");
+
+        // Then
+        assertEquals(List.of("SHOW_PROFILE", "ROLE_DEVELOPER"), results.getFirst().authorities());
+    }
+
+    private static VerifiedToken token(String value, String tokenUse, boolean expired) {
+        Map<String, Object> claims = tokenUse == null
+                ? Map.of("sub", "developer", "userId", 2)
+                : Map.of("sub", "developer", "userId", 2, "token_use", tokenUse);
+        var expiresAt = expired ? Instant.now().minusSeconds(60) : Instant.now().plusSeconds(3600);
+        return new VerifiedToken(value, "developer", 2, "DEVELOPER", expiresAt, claims, expired);
+    }
+
+    private static UserDetailsDTO developer() {
+        var role = new UserDetailsRoleDTO();
+        role.setId(3);
+        role.setName(RoleEnum.DEVELOPER);
+        role.setUserDetailsPermissionDTOList(List.of());
+        return new UserDetailsDTO(2, "Developer", "developer", "hash", role);
+    }
+}